@@ -0,0 +1,171 @@
+package cs2030.simulator;
+
+import cs2030.simulator.ReplicationSummary;
+import cs2030.simulator.SampleStatistics;
+
+/**
+ * AnalyticResult class to store the exact steady-state measures of
+ * a Shop found by MarkovEvaluator.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class AnalyticResult {
+    private final double waitTime;
+    private final double leftShare;
+    private final double[] utilisations;
+    private final double[] queueLengths;
+    private final int states;
+    private final int iterations;
+
+    /**
+     * Constructs an AnalyticResult.
+     *
+     * @param waitTime Average waiting time of served Customers.
+     * @param leftShare Share of Customers who leave.
+     * @param utilisations Fraction of the time each Server is busy.
+     * @param queueLengths Time-average queue length of each Server.
+     * @param states Number of states of the Markov chain.
+     * @param iterations Number of Gauss-Seidel sweeps taken.
+     */
+    private AnalyticResult(double waitTime, double leftShare, double[] utilisations,
+                           double[] queueLengths, int states, int iterations) {
+        this.waitTime = waitTime;
+        this.leftShare = leftShare;
+        this.utilisations = utilisations;
+        this.queueLengths = queueLengths;
+        this.states = states;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Creates an AnalyticResult.
+     *
+     * @param waitTime Average waiting time of served Customers.
+     * @param leftShare Share of Customers who leave.
+     * @param utilisations Fraction of the time each Server is busy.
+     * @param queueLengths Time-average queue length of each Server.
+     * @param states Number of states of the Markov chain.
+     * @param iterations Number of Gauss-Seidel sweeps taken.
+     * @return New AnalyticResult.
+     */
+    public static AnalyticResult createResult(double waitTime, double leftShare,
+                                              double[] utilisations, double[] queueLengths,
+                                              int states, int iterations) {
+        return new AnalyticResult(waitTime, leftShare, utilisations.clone(),
+                queueLengths.clone(), states, iterations);
+    }
+
+    /**
+     * Returns the average waiting time of served Customers,
+     * counting 0 for those served on arrival.
+     *
+     * @return Average waiting time.
+     */
+    public double getAverageWaitTime() {
+        return this.waitTime;
+    }
+
+    /**
+     * Returns the share of arriving Customers who leave because
+     * every queue is full.
+     *
+     * @return Share of Customers who leave.
+     */
+    public double getLeftShare() {
+        return this.leftShare;
+    }
+
+    /**
+     * Returns the fraction of the time a Server is busy.
+     *
+     * @param idx List index of the Server.
+     * @return Utilisation of the Server.
+     */
+    public double getUtilisation(int idx) {
+        return this.utilisations[idx];
+    }
+
+    /**
+     * Returns the time-average queue length of a Server.
+     *
+     * @param idx List index of the Server.
+     * @return Average queue length.
+     */
+    public double getAverageQueueLength(int idx) {
+        return this.queueLengths[idx];
+    }
+
+    /**
+     * Returns the number of states of the Markov chain.
+     *
+     * @return Number of states.
+     */
+    public int getStates() {
+        return this.states;
+    }
+
+    /**
+     * Returns the number of Gauss-Seidel sweeps taken.
+     *
+     * @return Number of sweeps.
+     */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Returns a boolean value indicating if the replications of a
+     * simulation agree with this AnalyticResult: each measure lies
+     * within the 95% confidence interval of its replications,
+     * widened by a relative tolerance for the bias of runs that
+     * start from an empty Shop.
+     *
+     * @param summary ReplicationSummary of the simulated replications.
+     * @param tolerance Relative tolerance added to the half-widths.
+     * @return Boolean value indicating if the simulation agrees.
+     */
+    public boolean agreesWith(ReplicationSummary summary, double tolerance) {
+        return AnalyticResult.agrees(this.waitTime, summary.getWaitTime(), tolerance) &&
+            AnalyticResult.agrees(this.leftShare, summary.getLeftShare(), tolerance);
+    }
+
+    /**
+     * Returns a boolean value indicating if a value lies within the
+     * widened confidence interval of a sample.
+     *
+     * @param value Exact value.
+     * @param sample SampleStatistics of the simulated values.
+     * @param tolerance Relative tolerance added to the half-width.
+     * @return Boolean value indicating if the value lies within the interval.
+     */
+    private static boolean agrees(double value, SampleStatistics sample, double tolerance) {
+        double halfWidth = sample.getCount() < 2 ? 0.0 : sample.getHalfWidth();
+        return Math.abs(sample.getMean() - value) <= halfWidth + tolerance * Math.abs(value);
+    }
+
+    /**
+     * Creates a String in the form of the Statistics line, with
+     * the expected numbers of Customers served and left out of a
+     * given number of Customers.
+     *
+     * @param customerNum Number of Customers.
+     * @return String of the expected Statistics.
+     */
+    public String toStatisticsString(int customerNum) {
+        return String.format("[%.3f %.1f %.1f]", this.waitTime,
+                customerNum * (1 - this.leftShare), customerNum * this.leftShare);
+    }
+
+    /**
+     * Creates a String with the waiting time, the share of
+     * Customers who leave and the size of the Markov chain.
+     *
+     * @return String based on this AnalyticResult.
+     */
+    @Override
+    public String toString() {
+        return String.format("[wait %.6f left %.6f] states %d sweeps %d", this.waitTime,
+                this.leftShare, this.states, this.iterations);
+    }
+}
@@ -0,0 +1,132 @@
+package cs2030.simulator;
+
+import cs2030.simulator.Event;
+import cs2030.simulator.EventPool;
+import cs2030.simulator.Customer;
+import cs2030.simulator.GreedyCustomer;
+import cs2030.simulator.RunContext;
+
+/**
+ * ArrivalStream class to lazily generate the ARRIVES Events
+ * of a simulation, one Customer at a time.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ArrivalStream {
+    private int customerNum;
+    private final double greedyCustomers;
+    private final RunContext context;
+    private final double horizon;
+    private int nextId;
+    private double nextTime;
+
+    /**
+     * Constructs an ArrivalStream.
+     *
+     * @param customerNum Number of Customers to generate.
+     * @param greedyCustomers Probability of a Customer being greedy.
+     * @param context RunContext to draw random values from.
+     * @param horizon Time after which no Customer arrives.
+     */
+    private ArrivalStream(int customerNum, double greedyCustomers, RunContext context,
+                          double horizon) {
+        this.customerNum = customerNum;
+        this.greedyCustomers = greedyCustomers;
+        this.context = context;
+        this.horizon = horizon;
+        this.nextId = 1;
+        this.nextTime = 0.0;
+    }
+
+    /**
+     * Creates an ArrivalStream for the specified number of
+     * typical and greedy Customers.
+     *
+     * @param customerNum Number of Customers to generate.
+     * @param greedyCustomers Probability of a Customer being greedy.
+     * @param context RunContext to draw random values from.
+     * @return New ArrivalStream starting at time 0.
+     */
+    public static ArrivalStream createArrivalStream(int customerNum, double greedyCustomers,
+                                                    RunContext context) {
+        return new ArrivalStream(customerNum, greedyCustomers, context,
+                Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Creates an open-ended ArrivalStream of typical and greedy
+     * Customers, arriving until a time horizon.
+     *
+     * @param greedyCustomers Probability of a Customer being greedy.
+     * @param context RunContext to draw random values from.
+     * @param horizon Time after which no Customer arrives.
+     * @return New ArrivalStream starting at time 0.
+     */
+    public static ArrivalStream createArrivalStream(double greedyCustomers, RunContext context,
+                                                    double horizon) {
+        return new ArrivalStream(Integer.MAX_VALUE - 1, greedyCustomers, context, horizon);
+    }
+
+    /**
+     * Returns a boolean value indicating if there are Customers
+     * left to arrive.
+     *
+     * @return Boolean value indicating if there are Customers left to arrive.
+     */
+    public boolean hasNext() {
+        return this.nextId <= this.customerNum && this.nextTime <= this.horizon;
+    }
+
+    /**
+     * Creates the ARRIVES Event of the next Customer. The
+     * random values are drawn in the same order as when every
+     * arrival was generated up front, so a given seed gives
+     * the same Customers.
+     *
+     * @return ARRIVES Event of the next Customer.
+     */
+    public Event next() {
+        return this.next(null);
+    }
+
+    /**
+     * Returns the ARRIVES Event of the next Customer, reusing
+     * an Event from an EventPool if one is given.
+     *
+     * @param pool EventPool to take the Event from, or null to create one.
+     * @return ARRIVES Event of the next Customer.
+     */
+    public Event next(EventPool pool) {
+        int id = this.nextId;
+        double time = this.nextTime;
+        boolean greedy = this.context.genCustomerType(id) < this.greedyCustomers;
+        this.nextTime = time + this.context.genInterArrivalTime(id);
+        this.nextId = id + 1;
+        if (pool != null) {
+            return pool.obtain(id, greedy, time);
+        } else if (greedy) {
+            return Event.createEvent(GreedyCustomer.createGreedyCustomer(id, time), time);
+        } else {
+            return Event.createEvent(Customer.createCustomer(id, time), time);
+        }
+    }
+
+    /**
+     * Stops this ArrivalStream after the Customers generated so
+     * far, such as when a simulation has reached its PrecisionTarget.
+     */
+    public void stop() {
+        this.customerNum = Math.min(this.customerNum, this.nextId - 1);
+    }
+
+    /**
+     * Returns the total number of Customers in this ArrivalStream,
+     * which is the number generated once it has ended.
+     *
+     * @return Total number of Customers.
+     */
+    public int size() {
+        return this.hasNext() ? this.customerNum : this.nextId - 1;
+    }
+}
@@ -0,0 +1,204 @@
+package cs2030.simulator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import cs2030.simulator.BufferedTraceSink;
+import cs2030.simulator.Event;
+import cs2030.simulator.TraceSink;
+
+/**
+ * AsyncTraceSink class to move the formatting and writing of the
+ * trace off the simulation thread.
+ *
+ * <p>The simulation thread stores each Event as a primitive record
+ * (time, state, Customer Id, greedy flag and Server) in a ring of
+ * arrays and publishes it by advancing a sequence number. A writer
+ * thread reads the records in sequence order and renders them
+ * through a BufferedTraceSink, so the output is the same as the
+ * printed trace. There is one producer and one consumer, so the
+ * two sequence numbers are the only shared state and no locks are
+ * needed. Either side spins briefly and then parks when the ring
+ * is full or empty.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class AsyncTraceSink implements TraceSink {
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = AsyncTraceSink.CAPACITY - 1;
+    private static final int SPINS = 256;
+    private static final long PARK_NANOS = 20_000L;
+    private static final int GREEDY_FLAG = 8;
+    private static final int SELF_CHECK_FLAG = 16;
+    private static final int STATE_MASK = 7;
+    private final double[] times;
+    private final int[] customerIds;
+    private final int[] serverIndices;
+    private final byte[] flags;
+    private final AtomicLong published;
+    private final AtomicLong consumed;
+    private final BufferedTraceSink writer;
+    private final Thread thread;
+    private volatile boolean closing;
+    private volatile Throwable failure;
+    private long nextSequence;
+    private long consumedLimit;
+
+    /**
+     * Constructs an AsyncTraceSink and starts its writer thread.
+     *
+     * @param writer BufferedTraceSink rendering the records.
+     */
+    private AsyncTraceSink(BufferedTraceSink writer) {
+        this.times = new double[AsyncTraceSink.CAPACITY];
+        this.customerIds = new int[AsyncTraceSink.CAPACITY];
+        this.serverIndices = new int[AsyncTraceSink.CAPACITY];
+        this.flags = new byte[AsyncTraceSink.CAPACITY];
+        this.published = new AtomicLong();
+        this.consumed = new AtomicLong();
+        this.writer = writer;
+        this.nextSequence = 0;
+        this.consumedLimit = AsyncTraceSink.CAPACITY;
+        this.thread = new Thread(this::drain, "trace-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Creates an AsyncTraceSink whose writer thread renders the
+     * trace through a BufferedTraceSink.
+     *
+     * @param writer BufferedTraceSink owned by the writer thread from now on.
+     * @return New AsyncTraceSink.
+     */
+    public static AsyncTraceSink createTraceSink(BufferedTraceSink writer) {
+        return new AsyncTraceSink(writer);
+    }
+
+    /**
+     * Stores the record of an Event in the ring and publishes it,
+     * waiting for the writer thread if the ring is full.
+     *
+     * @param event Event to record.
+     */
+    @Override
+    public void trace(Event event) {
+        long sequence = this.nextSequence;
+        if (sequence >= this.consumedLimit) {
+            this.awaitRoom(sequence);
+        }
+        int slot = (int) sequence & AsyncTraceSink.MASK;
+        this.times[slot] = event.getTime();
+        this.customerIds[slot] = event.getCustomerId();
+        this.serverIndices[slot] = event.serverListIndex();
+        this.flags[slot] = (byte) (event.getState() |
+                (event.isGreedy() ? AsyncTraceSink.GREEDY_FLAG : 0) |
+                (event.isSelfCheckServer() ? AsyncTraceSink.SELF_CHECK_FLAG : 0));
+        this.nextSequence = sequence + 1;
+        this.published.lazySet(sequence + 1);
+    }
+
+    /**
+     * Waits until the writer thread has freed the slot of a
+     * sequence number.
+     *
+     * @param sequence Sequence number to store next.
+     */
+    private void awaitRoom(long sequence) {
+        int spins = 0;
+        while (sequence >= this.consumed.get() + AsyncTraceSink.CAPACITY) {
+            this.checkFailure();
+            if (++spins < AsyncTraceSink.SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(AsyncTraceSink.PARK_NANOS);
+            }
+        }
+        this.consumedLimit = this.consumed.get() + AsyncTraceSink.CAPACITY;
+    }
+
+    /**
+     * Waits until the writer thread has rendered every published
+     * record, then writes out the rendered lines.
+     */
+    @Override
+    public void flush() {
+        int spins = 0;
+        while (this.consumed.get() < this.nextSequence) {
+            this.checkFailure();
+            if (++spins < AsyncTraceSink.SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(AsyncTraceSink.PARK_NANOS);
+            }
+        }
+        // The writer thread is idle until more records are published,
+        // and reading consumed made its writes to the block visible.
+        this.writer.flush();
+    }
+
+    /**
+     * Writes out the whole trace, stops the writer thread and
+     * closes the BufferedTraceSink.
+     */
+    @Override
+    public void close() {
+        this.flush();
+        this.closing = true;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.checkFailure();
+        this.writer.close();
+    }
+
+    /**
+     * Rethrows a failure of the writer thread on the simulation thread.
+     */
+    private void checkFailure() {
+        Throwable cause = this.failure;
+        if (cause != null) {
+            throw new IllegalStateException("Trace writer failed", cause);
+        }
+    }
+
+    /**
+     * Renders published records in sequence order until the sink
+     * is closed. Runs on the writer thread.
+     */
+    private void drain() {
+        try {
+            long sequence = 0;
+            int spins = 0;
+            while (true) {
+                long available = this.published.get();
+                if (sequence == available) {
+                    if (this.closing && sequence == this.published.get()) {
+                        return;
+                    }
+                    if (++spins < AsyncTraceSink.SPINS) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(AsyncTraceSink.PARK_NANOS);
+                    }
+                    continue;
+                }
+                spins = 0;
+                for (; sequence < available; sequence++) {
+                    int slot = (int) sequence & AsyncTraceSink.MASK;
+                    int flag = this.flags[slot];
+                    this.writer.trace(this.times[slot], flag & AsyncTraceSink.STATE_MASK,
+                            this.customerIds[slot], (flag & AsyncTraceSink.GREEDY_FLAG) != 0,
+                            this.serverIndices[slot],
+                            (flag & AsyncTraceSink.SELF_CHECK_FLAG) != 0);
+                }
+                this.consumed.lazySet(sequence);
+            }
+        } catch (RuntimeException | Error e) {
+            this.failure = e;
+        }
+    }
+}
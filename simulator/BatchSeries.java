@@ -0,0 +1,211 @@
+package cs2030.simulator;
+
+import cs2030.simulator.SampleStatistics;
+
+/**
+ * BatchSeries class to keep a long series of observations as the
+ * sums of consecutive batches, find the end of its warm-up with the
+ * MSER rule and give a batch-means confidence interval of the mean
+ * of the rest.
+ *
+ * <p>At most a fixed number of batches is kept. Batches start with
+ * MSER_BATCH observations, as in MSER-5, and whenever all are full
+ * neighbouring batches are merged in pairs and the batch size is
+ * doubled, so memory stays constant however long the run is.
+ *
+ * <p>MSER truncates the first d batches for the d, up to half of the
+ * batches, minimising the variance of the remaining batch means
+ * divided by their number, which trades the bias of the warm-up
+ * against the noise of a shorter series. The remaining batches are
+ * grouped into CONFIDENCE_BATCHES batches for the confidence interval.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class BatchSeries {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int MSER_BATCH = 5;
+    public static final int CONFIDENCE_BATCHES = 20;
+    private final double[] sums;
+    private int batches;
+    private long batchSize;
+    private double partialSum;
+    private long partialCount;
+    private long count;
+
+    /**
+     * Constructs an empty BatchSeries.
+     *
+     * @param capacity Largest number of batches kept, which is even.
+     */
+    private BatchSeries(int capacity) {
+        this.sums = new double[capacity];
+        this.batches = 0;
+        this.batchSize = BatchSeries.MSER_BATCH;
+        this.partialSum = 0.0;
+        this.partialCount = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Creates an empty BatchSeries keeping DEFAULT_CAPACITY batches.
+     *
+     * @return New BatchSeries.
+     */
+    public static BatchSeries createBatchSeries() {
+        return new BatchSeries(BatchSeries.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty BatchSeries.
+     *
+     * @param capacity Largest number of batches kept, an even number of at least 2.
+     * @return New BatchSeries.
+     */
+    public static BatchSeries createBatchSeries(int capacity) {
+        if (capacity < 2 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        return new BatchSeries(capacity);
+    }
+
+    /**
+     * Adds the next observation of the series.
+     *
+     * @param value Observation to add.
+     */
+    public void add(double value) {
+        this.partialSum += value;
+        this.partialCount++;
+        this.count++;
+        if (this.partialCount == this.batchSize) {
+            if (this.batches == this.sums.length) {
+                this.collapse();
+                return;
+            }
+            this.sums[this.batches] = this.partialSum;
+            this.batches++;
+            this.partialSum = 0.0;
+            this.partialCount = 0;
+        }
+    }
+
+    /**
+     * Merges neighbouring batches in pairs and doubles the batch
+     * size. The observations of the partial batch then fill half of
+     * the next, larger batch.
+     */
+    private void collapse() {
+        int half = this.batches / 2;
+        for (int i = 0; i < half; i++) {
+            this.sums[i] = this.sums[2 * i] + this.sums[2 * i + 1];
+        }
+        this.batches = half;
+        this.batchSize *= 2;
+    }
+
+    /**
+     * Returns the number of observations added.
+     *
+     * @return Number of observations.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the number of observations in each batch.
+     *
+     * @return Batch size.
+     */
+    public long getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Returns the number of full batches kept.
+     *
+     * @return Number of batches.
+     */
+    public int getBatches() {
+        return this.batches;
+    }
+
+    /**
+     * Returns the number of leading batches that MSER truncates.
+     *
+     * @return Number of warm-up batches.
+     */
+    public int warmUpBatches() {
+        double mean = 0.0;
+        double sumSquares = 0.0;
+        double best = Double.POSITIVE_INFINITY;
+        int bestStart = 0;
+        for (int d = this.batches - 1; d >= 0; d--) {
+            double value = this.sums[d] / this.batchSize;
+            long n = this.batches - d;
+            double delta = value - mean;
+            mean += delta / n;
+            sumSquares += delta * (value - mean);
+            if (2 * d <= this.batches && n > 1) {
+                double mser = sumSquares / ((double) n * n);
+                if (mser <= best) {
+                    best = mser;
+                    bestStart = d;
+                }
+            }
+        }
+        return bestStart;
+    }
+
+    /**
+     * Returns the number of observations in the warm-up.
+     *
+     * @return Number of observations truncated by MSER.
+     */
+    public long getWarmUpLength() {
+        return this.warmUpBatches() * this.batchSize;
+    }
+
+    /**
+     * Returns the means of up to CONFIDENCE_BATCHES equal groups of
+     * the batches after the warm-up; any batches left over when
+     * grouping are taken from the start.
+     *
+     * @return SampleStatistics of the group means.
+     */
+    public SampleStatistics getBatchMeans() {
+        int start = this.warmUpBatches();
+        int remaining = this.batches - start;
+        SampleStatistics means = SampleStatistics.createSampleStatistics();
+        if (remaining == 0) {
+            return means;
+        }
+        int groups = Math.min(BatchSeries.CONFIDENCE_BATCHES, remaining);
+        int perGroup = remaining / groups;
+        int first = this.batches - groups * perGroup;
+        for (int g = 0; g < groups; g++) {
+            double sum = 0.0;
+            for (int i = 0; i < perGroup; i++) {
+                sum += this.sums[first + g * perGroup + i];
+            }
+            means.add(sum / (perGroup * this.batchSize));
+        }
+        return means;
+    }
+
+    /**
+     * Returns a String with the steady-state mean, its 95%
+     * confidence interval and the warm-up that was truncated.
+     *
+     * @return String based on this BatchSeries.
+     */
+    @Override
+    public String toString() {
+        SampleStatistics means = this.getBatchMeans();
+        double halfWidth = means.getHalfWidth();
+        return String.format("mean %.6f 95%% CI [%.6f, %.6f] warm-up %d of %d, %d batches",
+                means.getMean(), means.getMean() - halfWidth, means.getMean() + halfWidth,
+                this.getWarmUpLength(), this.count, means.getCount());
+    }
+}
@@ -0,0 +1,66 @@
+package cs2030.simulator;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.EventQueue;
+
+/**
+ * BinaryHeapEventQueue class to keep pending Events in a
+ * java.util.PriorityQueue.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class BinaryHeapEventQueue implements EventQueue {
+    private final PriorityQueue<Event> events;
+
+    /**
+     * Constructs a BinaryHeapEventQueue.
+     *
+     * @param comparator Comparator ranking the Events.
+     */
+    private BinaryHeapEventQueue(Comparator<Event> comparator) {
+        this.events = new PriorityQueue<>(comparator);
+    }
+
+    /**
+     * Creates an empty BinaryHeapEventQueue.
+     *
+     * @return New BinaryHeapEventQueue.
+     */
+    public static BinaryHeapEventQueue createEventQueue() {
+        return new BinaryHeapEventQueue(new EventComparator());
+    }
+
+    /**
+     * Creates an empty BinaryHeapEventQueue ranking Events with a given Comparator.
+     *
+     * @param comparator Comparator ranking the Events.
+     * @return New BinaryHeapEventQueue.
+     */
+    public static BinaryHeapEventQueue createEventQueue(Comparator<Event> comparator) {
+        return new BinaryHeapEventQueue(comparator);
+    }
+
+    @Override
+    public void offer(Event event) {
+        this.events.offer(event);
+    }
+
+    @Override
+    public Event poll() {
+        return this.events.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.events.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.events.size();
+    }
+}
@@ -0,0 +1,55 @@
+package cs2030.simulator;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import cs2030.simulator.BinaryTraceReader;
+import cs2030.simulator.BufferedTraceSink;
+
+/**
+ * BinaryTraceConverter class to turn a trace saved by
+ * BinaryTraceSink back into the text a simulation prints,
+ * Statistics line included.
+ *
+ * <p>Usage: {@code java cs2030.simulator.BinaryTraceConverter trace.bin [trace.txt]},
+ * printing to standard output if no text file is given.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class BinaryTraceConverter {
+
+    /**
+     * Converts a binary trace file to text.
+     *
+     * @param args Path of the binary trace, and optionally of the text file.
+     * @throws FileNotFoundException If the text file cannot be created.
+     */
+    public static void main(String[] args) throws FileNotFoundException {
+        PrintStream out = args.length > 1
+            ? new PrintStream(new BufferedOutputStream(new FileOutputStream(args[1])))
+            : System.out;
+        BinaryTraceReader reader = BinaryTraceReader.open(Paths.get(args[0]));
+        BinaryTraceConverter.convert(reader, out);
+        reader.close();
+        out.flush();
+        if (out != System.out) {
+            out.close();
+        }
+    }
+
+    /**
+     * Prints the text of a binary trace.
+     *
+     * @param reader BinaryTraceReader of the trace.
+     * @param out PrintStream for the text.
+     */
+    public static void convert(BinaryTraceReader reader, PrintStream out) {
+        BufferedTraceSink sink = BufferedTraceSink.createTraceSink(out);
+        reader.forEach(sink::trace);
+        sink.flush();
+        out.println(reader.getSummary());
+    }
+}
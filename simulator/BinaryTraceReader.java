@@ -0,0 +1,298 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import cs2030.simulator.BinaryTraceSink;
+import cs2030.simulator.TraceVisitor;
+
+/**
+ * BinaryTraceReader class to read a trace saved by BinaryTraceSink.
+ *
+ * <p>Opening a trace only reads the chunk headers. The columns of
+ * a chunk are read straight from a memory map of the chunk when it
+ * is visited. Filters by state or Server skip every chunk whose
+ * header rules it out. Within a chunk they look at the state and
+ * Server columns first, and only decode the Customer Id of an
+ * Event that matches.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class BinaryTraceReader {
+    public static final int ALL_STATES = 0xFF;
+    public static final int ANY_SERVER = -1;
+    private final FileChannel channel;
+    private final long[] offsets;
+    private final int[] counts;
+    private final int[] timeBytes;
+    private final int[] idBytes;
+    private final int[] stateMasks;
+    private final int[] minServers;
+    private final int[] maxServers;
+    private final int chunkCount;
+    private final long size;
+    private final String summary;
+
+    /**
+     * Constructs a BinaryTraceReader by reading the headers of a
+     * trace file.
+     *
+     * @param channel FileChannel of the trace file.
+     * @throws IOException If the file cannot be read.
+     */
+    private BinaryTraceReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = this.read(0, BinaryTraceSink.FILE_HEADER_BYTES);
+        if (header.getInt() != BinaryTraceSink.MAGIC ||
+                header.getInt() != BinaryTraceSink.VERSION) {
+            throw new IOException("Not a binary trace file");
+        }
+        int capacity = 16;
+        long[] chunkOffsets = new long[capacity];
+        int[][] fields = new int[6][capacity];
+        long position = BinaryTraceSink.FILE_HEADER_BYTES;
+        long total = 0;
+        int chunks = 0;
+        String footer = "";
+        while (position < channel.size()) {
+            ByteBuffer chunk = this.read(position, Math.min(BinaryTraceSink.CHUNK_HEADER_BYTES,
+                    channel.size() - position));
+            int n = chunk.getInt();
+            if (n == BinaryTraceSink.FOOTER) {
+                int length = chunk.getInt();
+                footer = StandardCharsets.UTF_8.decode(this.read(position + 8, length))
+                    .toString();
+                break;
+            }
+            if (chunks == capacity) {
+                capacity *= 2;
+                chunkOffsets = Arrays.copyOf(chunkOffsets, capacity);
+                for (int f = 0; f < fields.length; f++) {
+                    fields[f] = Arrays.copyOf(fields[f], capacity);
+                }
+            }
+            chunkOffsets[chunks] = position;
+            fields[0][chunks] = n;
+            for (int f = 1; f < fields.length; f++) {
+                fields[f][chunks] = chunk.getInt();
+            }
+            position += BinaryTraceSink.CHUNK_HEADER_BYTES + fields[1][chunks] + 3L * n +
+                fields[2][chunks];
+            total += n;
+            chunks++;
+        }
+        this.offsets = chunkOffsets;
+        this.counts = fields[0];
+        this.timeBytes = fields[1];
+        this.idBytes = fields[2];
+        this.stateMasks = fields[3];
+        this.minServers = fields[4];
+        this.maxServers = fields[5];
+        this.chunkCount = chunks;
+        this.size = total;
+        this.summary = footer;
+    }
+
+    /**
+     * Opens a trace file saved by BinaryTraceSink.
+     *
+     * @param file Path of the trace file.
+     * @return New BinaryTraceReader of the file.
+     */
+    public static BinaryTraceReader open(Path file) {
+        try {
+            return new BinaryTraceReader(FileChannel.open(file, StandardOpenOption.READ));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a region of the trace file into a new ByteBuffer.
+     *
+     * @param position Position of the region.
+     * @param length Size of the region.
+     * @return ByteBuffer holding the region, ready to be read.
+     * @throws IOException If the region cannot be read.
+     */
+    private ByteBuffer read(long position, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated binary trace file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Returns the number of Events in the trace.
+     *
+     * @return Number of Events.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of chunks in the trace.
+     *
+     * @return Number of chunks.
+     */
+    public int getChunkCount() {
+        return this.chunkCount;
+    }
+
+    /**
+     * Returns the Statistics line saved after the trace.
+     *
+     * @return Statistics line, or an empty String if none was saved.
+     */
+    public String getSummary() {
+        return this.summary;
+    }
+
+    /**
+     * Visits every Event of the trace in order.
+     *
+     * @param visitor TraceVisitor receiving the Events.
+     */
+    public void forEach(TraceVisitor visitor) {
+        this.forEach(BinaryTraceReader.ALL_STATES, BinaryTraceReader.ANY_SERVER, visitor);
+    }
+
+    /**
+     * Visits the Events of the trace whose state is in a set and
+     * that are at a given Server, in order.
+     *
+     * @param stateMask Set of states, with bit s set for state s.
+     * @param serverIdx List index of the Server, or ANY_SERVER.
+     * @param visitor TraceVisitor receiving the Events.
+     */
+    public void forEach(int stateMask, int serverIdx, TraceVisitor visitor) {
+        int server = serverIdx + 1;
+        boolean anyServer = serverIdx == BinaryTraceReader.ANY_SERVER;
+        for (int c = 0; c < this.chunkCount; c++) {
+            if ((this.stateMasks[c] & stateMask) == 0 || !anyServer &&
+                    (server < this.minServers[c] || server > this.maxServers[c])) {
+                continue;
+            }
+            MappedByteBuffer chunk = this.mapChunk(c);
+            int n = this.counts[c];
+            int timePos = BinaryTraceSink.CHUNK_HEADER_BYTES;
+            int statePos = timePos + this.timeBytes[c];
+            int serverPos = statePos + n;
+            int idPos = serverPos + 2 * n;
+            long bits = chunk.getLong(BinaryTraceSink.CHUNK_HEADER_BYTES - 8);
+            for (int i = 0; i < n; i++) {
+                long zigzag = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = chunk.get(timePos++);
+                    zigzag |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                bits += (zigzag >>> 1) ^ -(zigzag & 1);
+                int flags = chunk.get(statePos + i);
+                int eventServer = chunk.getShort(serverPos + 2 * i) & 0xFFFF;
+                boolean match = (stateMask & (1 << (flags & BinaryTraceSink.STATE_MASK))) != 0 &&
+                    (anyServer || eventServer == server);
+                long id = 0;
+                shift = 0;
+                do {
+                    b = chunk.get(idPos++);
+                    if (match) {
+                        id |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    }
+                } while (b < 0);
+                if (match) {
+                    visitor.visit(Double.longBitsToDouble(bits),
+                            flags & BinaryTraceSink.STATE_MASK, (int) id,
+                            (flags & BinaryTraceSink.GREEDY_FLAG) != 0, eventServer - 1,
+                            (flags & BinaryTraceSink.SELF_CHECK_FLAG) != 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the Events of the trace in a given state, in order.
+     *
+     * @param state One of the Event state constants.
+     * @param visitor TraceVisitor receiving the Events.
+     */
+    public void forEachWithState(int state, TraceVisitor visitor) {
+        this.forEach(1 << state, BinaryTraceReader.ANY_SERVER, visitor);
+    }
+
+    /**
+     * Visits the Events of the trace at a given Server, in order.
+     *
+     * @param serverIdx List index of the Server.
+     * @param visitor TraceVisitor receiving the Events.
+     */
+    public void forEachAtServer(int serverIdx, TraceVisitor visitor) {
+        this.forEach(BinaryTraceReader.ALL_STATES, serverIdx, visitor);
+    }
+
+    /**
+     * Counts the Events of the trace in a given state from the state
+     * column alone, without decoding time-stamps or Customer Ids.
+     *
+     * @param state One of the Event state constants.
+     * @return Number of Events in the state.
+     */
+    public long countState(int state) {
+        long total = 0;
+        for (int c = 0; c < this.chunkCount; c++) {
+            if ((this.stateMasks[c] & (1 << state)) == 0) {
+                continue;
+            }
+            MappedByteBuffer chunk = this.mapChunk(c);
+            int statePos = BinaryTraceSink.CHUNK_HEADER_BYTES + this.timeBytes[c];
+            for (int i = 0; i < this.counts[c]; i++) {
+                if ((chunk.get(statePos + i) & BinaryTraceSink.STATE_MASK) == state) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Maps a chunk of the trace file for reading.
+     *
+     * @param c Number of the chunk.
+     * @return MappedByteBuffer of the chunk.
+     */
+    private MappedByteBuffer mapChunk(int c) {
+        long length = BinaryTraceSink.CHUNK_HEADER_BYTES + this.timeBytes[c] +
+            3L * this.counts[c] + this.idBytes[c];
+        try {
+            return this.channel.map(FileChannel.MapMode.READ_ONLY, this.offsets[c], length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the trace file.
+     */
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import cs2030.simulator.Event;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.TraceSink;
+
+/**
+ * BinaryTraceSink class to save the trace of a simulation in a
+ * compact column-wise binary file, written through memory maps.
+ *
+ * <p>The file starts with a header (magic, version and chunk
+ * capacity) followed by chunks of up to CHUNK_SIZE Events. Each
+ * chunk holds a header and four columns:
+ * <ul>
+ * <li>the time-stamps, as the zigzag varint difference between
+ * the bits of each double and those of the previous one, starting
+ * from the first time-stamp stored in the chunk header;</li>
+ * <li>one byte per Event with the state and the greedy and
+ * self-check flags;</li>
+ * <li>one unsigned short per Event with the Server index plus
+ * one, or 0 if there is no Server;</li>
+ * <li>the Customer Ids as varints.</li>
+ * </ul>
+ * The chunk header also holds the states present and the range of
+ * Server indices, so that a reader can skip chunks without looking
+ * at their columns. A footer with the Statistics line ends the file.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class BinaryTraceSink implements TraceSink {
+    public static final int MAGIC = 0x44455354;
+    public static final int VERSION = 1;
+    public static final int CHUNK_SIZE = 1 << 16;
+    public static final int FILE_HEADER_BYTES = 12;
+    public static final int CHUNK_HEADER_BYTES = 32;
+    public static final int FOOTER = -1;
+    public static final int STATE_MASK = 7;
+    public static final int GREEDY_FLAG = 8;
+    public static final int SELF_CHECK_FLAG = 16;
+    public static final int MAX_SERVERS = 0xFFFE;
+    private final FileChannel channel;
+    private final double[] times;
+    private final byte[] states;
+    private final short[] servers;
+    private final int[] customerIds;
+    private final byte[] timeColumn;
+    private final byte[] idColumn;
+    private long position;
+    private int count;
+    private String summary;
+
+    /**
+     * Constructs a BinaryTraceSink.
+     *
+     * @param channel FileChannel of the trace file.
+     */
+    private BinaryTraceSink(FileChannel channel) {
+        this.channel = channel;
+        this.times = new double[BinaryTraceSink.CHUNK_SIZE];
+        this.states = new byte[BinaryTraceSink.CHUNK_SIZE];
+        this.servers = new short[BinaryTraceSink.CHUNK_SIZE];
+        this.customerIds = new int[BinaryTraceSink.CHUNK_SIZE];
+        this.timeColumn = new byte[BinaryTraceSink.CHUNK_SIZE * 10];
+        this.idColumn = new byte[BinaryTraceSink.CHUNK_SIZE * 5];
+        this.position = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Creates a BinaryTraceSink writing a new trace file.
+     *
+     * @param file Path of the trace file, which is replaced if it exists.
+     * @return New BinaryTraceSink.
+     */
+    public static BinaryTraceSink createTraceSink(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            BinaryTraceSink sink = new BinaryTraceSink(channel);
+            MappedByteBuffer header = sink.map(BinaryTraceSink.FILE_HEADER_BYTES);
+            header.putInt(BinaryTraceSink.MAGIC);
+            header.putInt(BinaryTraceSink.VERSION);
+            header.putInt(BinaryTraceSink.CHUNK_SIZE);
+            return sink;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stores the fields of an Event in the current chunk, writing
+     * the chunk out once it is full.
+     *
+     * @param event Event to record.
+     */
+    @Override
+    public void trace(Event event) {
+        int serverIdx = event.serverListIndex();
+        if (serverIdx >= BinaryTraceSink.MAX_SERVERS) {
+            throw new IllegalArgumentException("Binary traces hold at most " +
+                    BinaryTraceSink.MAX_SERVERS + " Servers");
+        }
+        int i = this.count;
+        this.times[i] = event.getTime();
+        this.states[i] = (byte) (event.getState() |
+                (event.isGreedy() ? BinaryTraceSink.GREEDY_FLAG : 0) |
+                (event.isSelfCheckServer() ? BinaryTraceSink.SELF_CHECK_FLAG : 0));
+        this.servers[i] = (short) (serverIdx + 1);
+        this.customerIds[i] = event.getCustomerId();
+        this.count = i + 1;
+        if (this.count == BinaryTraceSink.CHUNK_SIZE) {
+            this.writeChunk();
+        }
+    }
+
+    /**
+     * Keeps the Statistics line for the footer of the file.
+     *
+     * @param statistics Statistics of the simulation.
+     */
+    @Override
+    public void statistics(Statistics statistics) {
+        this.summary = statistics.toString();
+    }
+
+    /**
+     * Writes out the current chunk, even if it is not full.
+     */
+    @Override
+    public void flush() {
+        this.writeChunk();
+    }
+
+    /**
+     * Writes out the current chunk and the footer, and closes
+     * the file.
+     */
+    @Override
+    public void close() {
+        this.writeChunk();
+        byte[] text = (this.summary == null ? "" : this.summary)
+            .getBytes(StandardCharsets.UTF_8);
+        MappedByteBuffer footer = this.map(8 + text.length);
+        footer.putInt(BinaryTraceSink.FOOTER);
+        footer.putInt(text.length);
+        footer.put(text);
+        footer.force();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the next region of the file for writing, growing the
+     * file to hold it.
+     *
+     * @param bytes Size of the region.
+     * @return MappedByteBuffer of the region.
+     */
+    private MappedByteBuffer map(int bytes) {
+        try {
+            MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_WRITE,
+                    this.position, bytes);
+            this.position += bytes;
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodes the current chunk column by column and writes it
+     * to a newly mapped region of the file.
+     */
+    private void writeChunk() {
+        int n = this.count;
+        if (n == 0) {
+            return;
+        }
+        long firstBits = Double.doubleToRawLongBits(this.times[0]);
+        long previous = firstBits;
+        int timeBytes = 0;
+        int idBytes = 0;
+        int stateMask = 0;
+        int minServer = 0xFFFF;
+        int maxServer = 0;
+        for (int i = 0; i < n; i++) {
+            long bits = Double.doubleToRawLongBits(this.times[i]);
+            long delta = bits - previous;
+            previous = bits;
+            timeBytes = BinaryTraceSink.putVarLong(this.timeColumn, timeBytes,
+                    (delta << 1) ^ (delta >> 63));
+            idBytes = BinaryTraceSink.putVarLong(this.idColumn, idBytes,
+                    this.customerIds[i] & 0xFFFFFFFFL);
+            stateMask |= 1 << (this.states[i] & BinaryTraceSink.STATE_MASK);
+            int server = this.servers[i] & 0xFFFF;
+            minServer = Math.min(minServer, server);
+            maxServer = Math.max(maxServer, server);
+        }
+        MappedByteBuffer chunk = this.map(BinaryTraceSink.CHUNK_HEADER_BYTES + timeBytes + n +
+                2 * n + idBytes);
+        chunk.putInt(n);
+        chunk.putInt(timeBytes);
+        chunk.putInt(idBytes);
+        chunk.putInt(stateMask);
+        chunk.putInt(minServer);
+        chunk.putInt(maxServer);
+        chunk.putLong(firstBits);
+        chunk.put(this.timeColumn, 0, timeBytes);
+        chunk.put(this.states, 0, n);
+        for (int i = 0; i < n; i++) {
+            chunk.putShort(this.servers[i]);
+        }
+        chunk.put(this.idColumn, 0, idBytes);
+        this.count = 0;
+    }
+
+    /**
+     * Writes an unsigned value as a varint: seven bits per byte,
+     * lowest first, with the top bit set on every byte but the last.
+     *
+     * @param bytes Array to write to.
+     * @param offset Position of the first byte.
+     * @param value Value to write.
+     * @return Position after the last byte.
+     */
+    private static int putVarLong(byte[] bytes, int offset, long value) {
+        int pos = offset;
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            bytes[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        bytes[pos++] = (byte) v;
+        return pos;
+    }
+}
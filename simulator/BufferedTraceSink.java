@@ -0,0 +1,359 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+import cs2030.simulator.Event;
+import cs2030.simulator.TraceIndex;
+import cs2030.simulator.TraceIndexBuilder;
+import cs2030.simulator.TraceSink;
+
+/**
+ * BufferedTraceSink class to render trace lines straight into a
+ * reusable byte block and write the block out once it is full,
+ * instead of printing every line through String.format and
+ * PrintStream.println. The bytes are the same as printed lines.
+ *
+ * <p>Time-stamps are rounded to three decimals with a fixed-point
+ * conversion. String.format rounds the shortest decimal form of a
+ * double half up, which can differ from rounding its binary value
+ * only when the value is within a few ulps of a tie. Those values,
+ * very large values, and locales whose digits or decimal separator
+ * are not ASCII are handed to String.format instead. A PrintStream
+ * prints those Strings itself, so they are encoded as it encodes
+ * them; a FileChannel gets them in the default Charset.
+ *
+ * <p>A BufferedTraceSink writing to a file can also record the
+ * offset of every line in a TraceIndexBuilder, and save the
+ * TraceIndex next to the trace when it is closed.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class BufferedTraceSink implements TraceSink {
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final int MAX_LINE = 256;
+    private static final double MAX_FAST_TIME = 1 << 25;
+    private static final double TIE_WINDOW = 1e-4;
+    private static final byte[] NULL = BufferedTraceSink.ascii("null");
+    private static final byte[] GREEDY = BufferedTraceSink.ascii("(greedy)");
+    private static final byte[] ARRIVES = BufferedTraceSink.ascii(" arrives");
+    private static final byte[] LEAVES = BufferedTraceSink.ascii(" leaves");
+    private static final byte[] SERVED = BufferedTraceSink.ascii(" served by ");
+    private static final byte[] WAITS = BufferedTraceSink.ascii(" waits to be served by ");
+    private static final byte[] DONE = BufferedTraceSink.ascii(" done serving by ");
+    private final PrintStream out;
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final Path indexFile;
+    private final TraceIndexBuilder index;
+    private final byte[] block;
+    private final byte[] lineSeparator;
+    private final boolean asciiDecimals;
+    private final Locale locale;
+    private final Charset charset;
+    private byte[][] serverLabels;
+    private byte[][] selfCheckLabels;
+    private int size;
+    private long written;
+
+    /**
+     * Constructs a BufferedTraceSink.
+     *
+     * @param out PrintStream to write blocks to, or null.
+     * @param channel FileChannel to write blocks to, or null.
+     * @param ownsChannel Indicator to determine if closing this sink closes the FileChannel.
+     * @param indexFile Path of the TraceIndex to save, or null.
+     */
+    private BufferedTraceSink(PrintStream out, FileChannel channel, boolean ownsChannel,
+                              Path indexFile) {
+        this.out = out;
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.indexFile = indexFile;
+        this.index = indexFile == null ? null : TraceIndexBuilder.createBuilder();
+        this.written = 0;
+        this.block = new byte[BufferedTraceSink.BLOCK_SIZE];
+        this.charset = Charset.defaultCharset();
+        this.lineSeparator = System.lineSeparator().getBytes(this.charset);
+        this.locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(this.locale);
+        this.asciiDecimals = symbols.getZeroDigit() == '0' &&
+            symbols.getDecimalSeparator() == '.';
+        this.serverLabels = new byte[16][];
+        this.selfCheckLabels = new byte[16][];
+        this.size = 0;
+    }
+
+    /**
+     * Creates a BufferedTraceSink writing blocks to a PrintStream,
+     * such as System.out.
+     *
+     * @param out PrintStream for the trace.
+     * @return New BufferedTraceSink.
+     */
+    public static BufferedTraceSink createTraceSink(PrintStream out) {
+        return new BufferedTraceSink(out, null, false, null);
+    }
+
+    /**
+     * Creates a BufferedTraceSink writing blocks to a FileChannel.
+     *
+     * @param channel FileChannel for the trace.
+     * @return New BufferedTraceSink.
+     */
+    public static BufferedTraceSink createTraceSink(FileChannel channel) {
+        return new BufferedTraceSink(null, channel, false, null);
+    }
+
+    /**
+     * Creates a BufferedTraceSink writing blocks to a new file,
+     * which is closed when the BufferedTraceSink is closed.
+     *
+     * @param file Path of the trace file, which is replaced if it exists.
+     * @return New BufferedTraceSink.
+     */
+    public static BufferedTraceSink createTraceSink(Path file) {
+        return BufferedTraceSink.createTraceSink(file, false);
+    }
+
+    /**
+     * Creates a BufferedTraceSink writing blocks to a new file,
+     * which is closed when the BufferedTraceSink is closed, and
+     * optionally saving a TraceIndex of the file with it.
+     *
+     * @param file Path of the trace file, which is replaced if it exists.
+     * @param indexed Indicator to determine if a TraceIndex is saved.
+     * @return New BufferedTraceSink.
+     */
+    public static BufferedTraceSink createTraceSink(Path file, boolean indexed) {
+        try {
+            return new BufferedTraceSink(null, FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), true,
+                    indexed ? Paths.get(file.toString() + TraceIndex.SUFFIX) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the ASCII bytes of a String.
+     *
+     * @param text String of ASCII characters.
+     * @return Bytes of the String.
+     */
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Renders the trace line of an Event into the block.
+     *
+     * @param event Event to record.
+     */
+    @Override
+    public void trace(Event event) {
+        this.trace(event.getTime(), event.getState(), event.getCustomerId(), event.isGreedy(),
+                event.serverListIndex(), event.isSelfCheckServer());
+    }
+
+    /**
+     * Renders the trace line of an Event given by its fields into
+     * the block, writing the block out first if the line might
+     * not fit.
+     *
+     * @param time Time-stamp of the Event.
+     * @param state One of the Event state constants.
+     * @param customerId Customer Id, or 0 if there is no Customer.
+     * @param greedy Indicator to determine if the Customer is a GreedyCustomer.
+     * @param serverIdx List index of the Server, or -1 if there is none.
+     * @param selfCheck Indicator to determine if the Server is a SelfCheckServer.
+     */
+    public void trace(double time, int state, int customerId, boolean greedy, int serverIdx,
+                      boolean selfCheck) {
+        if (this.size > this.block.length - BufferedTraceSink.MAX_LINE) {
+            this.writeBlock();
+        }
+        if (this.index != null && customerId != 0) {
+            this.index.add(customerId, serverIdx, this.written + this.size);
+        }
+        this.putTime(time);
+        this.block[this.size++] = ' ';
+        if (customerId == 0) {
+            this.put(BufferedTraceSink.NULL);
+        } else {
+            this.putInt(customerId);
+            if (greedy) {
+                this.put(BufferedTraceSink.GREEDY);
+            }
+        }
+        if (state == Event.LEAVES) {
+            this.put(BufferedTraceSink.LEAVES);
+        } else if (state == Event.SERVED) {
+            this.put(BufferedTraceSink.SERVED);
+            this.put(this.serverLabel(serverIdx, selfCheck));
+        } else if (state == Event.WAITS) {
+            this.put(BufferedTraceSink.WAITS);
+            this.put(this.serverLabel(serverIdx, selfCheck));
+        } else if (state == Event.DONE) {
+            this.put(BufferedTraceSink.DONE);
+            this.put(this.serverLabel(serverIdx, selfCheck));
+        } else if (state != Event.SERVER_BACK && state != Event.SERVER_REST) {
+            this.put(BufferedTraceSink.ARRIVES);
+        }
+        this.put(this.lineSeparator);
+    }
+
+    /**
+     * Writes out the lines in the block.
+     */
+    @Override
+    public void flush() {
+        this.writeBlock();
+        if (this.out != null) {
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Writes out the lines in the block, saves the TraceIndex if
+     * there is one, and closes the FileChannel if this
+     * BufferedTraceSink opened it.
+     */
+    @Override
+    public void close() {
+        this.flush();
+        if (this.index != null) {
+            this.index.write(this.indexFile);
+        }
+        if (this.ownsChannel) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the block to the PrintStream or FileChannel and
+     * empties it.
+     */
+    private void writeBlock() {
+        if (this.size == 0) {
+            return;
+        }
+        this.written += this.size;
+        if (this.out != null) {
+            this.out.write(this.block, 0, this.size);
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(this.block, 0, this.size);
+            try {
+                while (buffer.hasRemaining()) {
+                    this.channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Returns the cached label bytes of a Server, such as
+     * "server 3" or "self-check 5".
+     *
+     * @param idx List index of the Server.
+     * @param selfCheck Indicator to determine if the Server is a SelfCheckServer.
+     * @return Bytes of the Server label.
+     */
+    private byte[] serverLabel(int idx, boolean selfCheck) {
+        byte[][] labels = selfCheck ? this.selfCheckLabels : this.serverLabels;
+        if (idx >= labels.length) {
+            labels = Arrays.copyOf(labels, Math.max(idx + 1, labels.length * 2));
+            if (selfCheck) {
+                this.selfCheckLabels = labels;
+            } else {
+                this.serverLabels = labels;
+            }
+        }
+        if (labels[idx] == null) {
+            labels[idx] = BufferedTraceSink.ascii((selfCheck ? "self-check " : "server ") +
+                    (idx + 1));
+        }
+        return labels[idx];
+    }
+
+    /**
+     * Appends bytes to the block.
+     *
+     * @param bytes Bytes to append.
+     */
+    private void put(byte[] bytes) {
+        if (this.size + bytes.length > this.block.length) {
+            this.writeBlock();
+        }
+        System.arraycopy(bytes, 0, this.block, this.size, bytes.length);
+        this.size += bytes.length;
+    }
+
+    /**
+     * Appends the decimal digits of a non-negative long to the block.
+     *
+     * @param value Value to append.
+     */
+    private void putInt(long value) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = this.size + digits;
+        long v = value;
+        do {
+            this.block[--pos] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        this.size += digits;
+    }
+
+    /**
+     * Appends a time-stamp rounded to three decimals, as "%.3f"
+     * formats it.
+     *
+     * @param time Time-stamp to append.
+     */
+    private void putTime(double time) {
+        if (this.asciiDecimals && time >= 0 && time < BufferedTraceSink.MAX_FAST_TIME) {
+            double scaled = time * 1000.0;
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > BufferedTraceSink.TIE_WINDOW) {
+                long thousandths = (long) floor + (fraction > 0.5 ? 1 : 0);
+                this.putInt(thousandths / 1000);
+                int decimals = (int) (thousandths % 1000);
+                this.block[this.size++] = '.';
+                this.block[this.size++] = (byte) ('0' + decimals / 100);
+                this.block[this.size++] = (byte) ('0' + decimals / 10 % 10);
+                this.block[this.size++] = (byte) ('0' + decimals % 10);
+                return;
+            }
+        }
+        String formatted = String.format(this.locale, "%.3f", time);
+        if (this.out != null) {
+            this.writeBlock();
+            this.out.print(formatted);
+        } else {
+            this.put(formatted.getBytes(this.charset));
+        }
+    }
+}
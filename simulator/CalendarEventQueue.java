@@ -0,0 +1,256 @@
+package cs2030.simulator;
+
+import java.util.Comparator;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.EventQueue;
+
+/**
+ * CalendarEventQueue class to keep pending Events in a calendar
+ * queue (R. Brown, 1988). Events are hashed by time into buckets
+ * ("days") of a fixed width, each kept sorted, and polls walk the
+ * buckets in order. The number of buckets doubles or halves with
+ * the size of the queue, and the width is re-estimated from the
+ * spacing of the earliest Events, giving O(1) amortized offers and
+ * polls when the timestamps are spread near-uniformly.
+ *
+ * <p>Offers are expected to be no earlier than the last polled Event,
+ * as in the simulation loop; earlier Events are still ordered
+ * correctly, at the cost of moving the calendar back.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class CalendarEventQueue implements EventQueue {
+    private static final int MIN_BUCKETS = 2;
+    private static final int WIDTH_SAMPLE = 25;
+    private final Comparator<Event> comparator;
+    private Node[] buckets;
+    private int mask;
+    private double width;
+    private int size;
+    private long currentSlot;
+    private double lastTime;
+    private boolean resizeEnabled;
+    private Node free;
+
+    /**
+     * Node class to store an Event with its bucket slot and
+     * the next Node in the same bucket.
+     */
+    private static class Node {
+        private Event event;
+        private long slot;
+        private Node next;
+    }
+
+    /**
+     * Constructs a CalendarEventQueue.
+     *
+     * @param comparator Comparator ranking the Events.
+     */
+    private CalendarEventQueue(Comparator<Event> comparator) {
+        this.comparator = comparator;
+        this.buckets = new Node[CalendarEventQueue.MIN_BUCKETS];
+        this.mask = CalendarEventQueue.MIN_BUCKETS - 1;
+        this.width = 1.0;
+        this.size = 0;
+        this.currentSlot = 0;
+        this.lastTime = 0.0;
+        this.resizeEnabled = true;
+        this.free = null;
+    }
+
+    /**
+     * Creates an empty CalendarEventQueue.
+     *
+     * @return New CalendarEventQueue.
+     */
+    public static CalendarEventQueue createEventQueue() {
+        return new CalendarEventQueue(new EventComparator());
+    }
+
+    /**
+     * Creates an empty CalendarEventQueue ranking Events with a given Comparator.
+     *
+     * @param comparator Comparator ranking the Events.
+     * @return New CalendarEventQueue.
+     */
+    public static CalendarEventQueue createEventQueue(Comparator<Event> comparator) {
+        return new CalendarEventQueue(comparator);
+    }
+
+    @Override
+    public void offer(Event event) {
+        Node node = this.free;
+        if (node == null) {
+            node = new Node();
+        } else {
+            this.free = node.next;
+        }
+        node.event = event;
+        this.insert(node);
+        this.size++;
+        if (event.getTime() < this.lastTime) {
+            this.lastTime = event.getTime();
+            this.currentSlot = node.slot;
+        }
+        if (this.resizeEnabled && this.size > 2 * this.buckets.length) {
+            this.resize(2 * this.buckets.length);
+        }
+    }
+
+    /**
+     * Places a Node in its bucket, behind every Node that
+     * does not rank after it.
+     *
+     * @param node Node to place.
+     */
+    private void insert(Node node) {
+        node.slot = (long) (node.event.getTime() / this.width);
+        int b = (int) (node.slot & this.mask);
+        Node prev = null;
+        Node cur = this.buckets[b];
+        while (cur != null && this.comparator.compare(cur.event, node.event) <= 0) {
+            prev = cur;
+            cur = cur.next;
+        }
+        node.next = cur;
+        if (prev == null) {
+            this.buckets[b] = node;
+        } else {
+            prev.next = node;
+        }
+    }
+
+    @Override
+    public Event poll() {
+        if (this.size == 0) {
+            return null;
+        }
+        int b = -1;
+        for (int i = 0; i < this.buckets.length; i++) {
+            int k = (int) (this.currentSlot & this.mask);
+            Node head = this.buckets[k];
+            if (head != null && head.slot <= this.currentSlot) {
+                b = k;
+                break;
+            }
+            this.currentSlot++;
+        }
+        if (b == -1) {
+            b = this.findEarliestBucket();
+            this.currentSlot = this.buckets[b].slot;
+        }
+        Node first = this.buckets[b];
+        this.buckets[b] = first.next;
+        this.size--;
+        Event event = first.event;
+        this.lastTime = event.getTime();
+        first.event = null;
+        first.next = this.free;
+        this.free = first;
+        if (this.resizeEnabled && this.buckets.length > CalendarEventQueue.MIN_BUCKETS &&
+                this.size < this.buckets.length / 2) {
+            this.resize(this.buckets.length / 2);
+        }
+        return event;
+    }
+
+    /**
+     * Finds the bucket holding the earliest Event by comparing
+     * the heads of every bucket, used when a whole year of
+     * buckets has been walked without a match.
+     *
+     * @return Index of the bucket with the earliest Event.
+     */
+    private int findEarliestBucket() {
+        int best = -1;
+        for (int i = 0; i < this.buckets.length; i++) {
+            Node head = this.buckets[i];
+            if (head != null && (best == -1 ||
+                    this.comparator.compare(head.event, this.buckets[best].event) < 0)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Rebuilds the calendar with a new number of buckets and
+     * a bucket width estimated from the earliest Events.
+     *
+     * @param bucketCount New number of buckets, a power of two.
+     */
+    private void resize(int bucketCount) {
+        this.resizeEnabled = false;
+        double newWidth = this.sampleWidth();
+        Node[] old = this.buckets;
+        this.buckets = new Node[bucketCount];
+        this.mask = bucketCount - 1;
+        this.width = newWidth;
+        for (Node head : old) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                this.insert(node);
+                node = next;
+            }
+        }
+        this.currentSlot = (long) (this.lastTime / this.width);
+        this.resizeEnabled = true;
+    }
+
+    /**
+     * Estimates a bucket width from the average separation of
+     * the earliest Events, ignoring separations more than twice
+     * the average, so that a bucket holds about three Events.
+     *
+     * @return Estimated bucket width.
+     */
+    private double sampleWidth() {
+        int n = Math.min(this.size, CalendarEventQueue.WIDTH_SAMPLE);
+        if (n < 2) {
+            return this.width;
+        }
+        double savedTime = this.lastTime;
+        long savedSlot = this.currentSlot;
+        Event[] sample = new Event[n];
+        for (int i = 0; i < n; i++) {
+            sample[i] = this.poll();
+        }
+        double total = 0.0;
+        for (int i = 1; i < n; i++) {
+            total += sample[i].getTime() - sample[i - 1].getTime();
+        }
+        double average = total / (n - 1);
+        double kept = 0.0;
+        int count = 0;
+        for (int i = 1; i < n; i++) {
+            double gap = sample[i].getTime() - sample[i - 1].getTime();
+            if (gap <= 2.0 * average) {
+                kept += gap;
+                count++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            this.offer(sample[i]);
+        }
+        this.lastTime = savedTime;
+        this.currentSlot = savedSlot;
+        if (count == 0 || kept <= 0.0) {
+            return this.width;
+        }
+        return 3.0 * kept / count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
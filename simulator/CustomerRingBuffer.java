@@ -0,0 +1,127 @@
+package cs2030.simulator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * CustomerRingBuffer class to store a fixed number of waiting
+ * queues, each a ring buffer of fixed capacity. Customers are
+ * kept as their Id, arrival time and type in parallel primitive
+ * arrays, with the rings laid out one after another, so adding,
+ * removing and checking the size of a queue are O(1) and create
+ * no objects.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class CustomerRingBuffer {
+    private final int capacity;
+    private final int[] ids;
+    private final double[] times;
+    private final boolean[] greedy;
+    private final int[] heads;
+    private final int[] sizes;
+
+    /**
+     * Constructs a CustomerRingBuffer.
+     *
+     * @param rings Number of queues.
+     * @param capacity Maximum number of Customers in each queue.
+     */
+    private CustomerRingBuffer(int rings, int capacity) {
+        this.capacity = capacity;
+        this.ids = new int[rings * capacity];
+        this.times = new double[rings * capacity];
+        this.greedy = new boolean[rings * capacity];
+        this.heads = new int[rings];
+        this.sizes = new int[rings];
+    }
+
+    /**
+     * Creates a CustomerRingBuffer of empty queues.
+     *
+     * @param rings Number of queues.
+     * @param capacity Maximum number of Customers in each queue.
+     * @return New CustomerRingBuffer.
+     */
+    public static CustomerRingBuffer createRingBuffer(int rings, int capacity) {
+        return new CustomerRingBuffer(rings, Math.max(0, capacity));
+    }
+
+    /**
+     * Adds a Customer to the back of a queue.
+     *
+     * @param ring Queue to add to.
+     * @param id Customer Id.
+     * @param time Time-stamp of the Customer.
+     * @param greedyCustomer Indicator to determine if the Customer is a GreedyCustomer.
+     */
+    public void add(int ring, int id, double time, boolean greedyCustomer) {
+        if (this.sizes[ring] == this.capacity) {
+            throw new IllegalStateException("Queue " + ring + " is full");
+        }
+        int pos = this.heads[ring] + this.sizes[ring];
+        if (pos >= this.capacity) {
+            pos -= this.capacity;
+        }
+        pos += ring * this.capacity;
+        this.ids[pos] = id;
+        this.times[pos] = time;
+        this.greedy[pos] = greedyCustomer;
+        this.sizes[ring]++;
+    }
+
+    /**
+     * Removes the Customer at the front of a queue.
+     *
+     * @param ring Queue to remove from.
+     */
+    public void removeHead(int ring) {
+        if (this.sizes[ring] == 0) {
+            throw new NoSuchElementException();
+        }
+        int head = this.heads[ring] + 1;
+        this.heads[ring] = head == this.capacity ? 0 : head;
+        this.sizes[ring]--;
+    }
+
+    /**
+     * Returns the Id of the Customer at the front of a queue.
+     *
+     * @param ring Queue to check.
+     * @return Customer Id.
+     */
+    public int headId(int ring) {
+        return this.ids[ring * this.capacity + this.heads[ring]];
+    }
+
+    /**
+     * Returns the time-stamp of the Customer at the front of a queue.
+     *
+     * @param ring Queue to check.
+     * @return Time-stamp of the Customer.
+     */
+    public double headTime(int ring) {
+        return this.times[ring * this.capacity + this.heads[ring]];
+    }
+
+    /**
+     * Returns a boolean value indicating if the Customer at the
+     * front of a queue is a GreedyCustomer.
+     *
+     * @param ring Queue to check.
+     * @return Boolean value indicating if the Customer is a GreedyCustomer.
+     */
+    public boolean isHeadGreedy(int ring) {
+        return this.greedy[ring * this.capacity + this.heads[ring]];
+    }
+
+    /**
+     * Returns the number of Customers in a queue.
+     *
+     * @param ring Queue to check.
+     * @return Number of Customers in the queue.
+     */
+    public int size(int ring) {
+        return this.sizes[ring];
+    }
+}
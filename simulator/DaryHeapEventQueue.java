@@ -0,0 +1,126 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.EventQueue;
+
+/**
+ * DaryHeapEventQueue class to keep pending Events in an
+ * array-backed 4-ary heap. The four children of a node sit
+ * next to each other, so a sift-down reads one cache line
+ * per level and the tree is half as deep as a binary heap.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class DaryHeapEventQueue implements EventQueue {
+    private static final int ARITY = 4;
+    private static final int INITIAL_CAPACITY = 64;
+    private final Comparator<Event> comparator;
+    private Event[] heap;
+    private int size;
+
+    /**
+     * Constructs a DaryHeapEventQueue.
+     *
+     * @param comparator Comparator ranking the Events.
+     */
+    private DaryHeapEventQueue(Comparator<Event> comparator) {
+        this.comparator = comparator;
+        this.heap = new Event[DaryHeapEventQueue.INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Creates an empty DaryHeapEventQueue.
+     *
+     * @return New DaryHeapEventQueue.
+     */
+    public static DaryHeapEventQueue createEventQueue() {
+        return new DaryHeapEventQueue(new EventComparator());
+    }
+
+    /**
+     * Creates an empty DaryHeapEventQueue ranking Events with a given Comparator.
+     *
+     * @param comparator Comparator ranking the Events.
+     * @return New DaryHeapEventQueue.
+     */
+    public static DaryHeapEventQueue createEventQueue(Comparator<Event> comparator) {
+        return new DaryHeapEventQueue(comparator);
+    }
+
+    @Override
+    public void offer(Event event) {
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.size * 2);
+        }
+        int i = this.size;
+        this.size++;
+        while (i > 0) {
+            int parent = (i - 1) / DaryHeapEventQueue.ARITY;
+            if (this.comparator.compare(event, this.heap[parent]) >= 0) {
+                break;
+            }
+            this.heap[i] = this.heap[parent];
+            i = parent;
+        }
+        this.heap[i] = event;
+    }
+
+    @Override
+    public Event poll() {
+        if (this.size == 0) {
+            return null;
+        }
+        Event first = this.heap[0];
+        this.size--;
+        Event last = this.heap[this.size];
+        this.heap[this.size] = null;
+        if (this.size > 0) {
+            this.siftDown(last);
+        }
+        return first;
+    }
+
+    /**
+     * Places an Event at the root and moves it down until
+     * none of its children rank before it.
+     *
+     * @param event Event to place.
+     */
+    private void siftDown(Event event) {
+        int i = 0;
+        while (true) {
+            int firstChild = i * DaryHeapEventQueue.ARITY + 1;
+            if (firstChild >= this.size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + DaryHeapEventQueue.ARITY, this.size);
+            int best = firstChild;
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (this.comparator.compare(this.heap[c], this.heap[best]) < 0) {
+                    best = c;
+                }
+            }
+            if (this.comparator.compare(this.heap[best], event) >= 0) {
+                break;
+            }
+            this.heap[i] = this.heap[best];
+            i = best;
+        }
+        this.heap[i] = event;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
@@ -1,23 +1,41 @@
 package cs2030.simulator;
 
-import java.util.Optional;
 import java.util.function.Supplier;
 import cs2030.simulator.Customer;
+import cs2030.simulator.GreedyCustomer;
 import cs2030.simulator.Server;
+import cs2030.simulator.SelfCheckServer;
 import cs2030.simulator.RandomGenerator;
 
 /**
  * Event class to represent Event with
  * different states.
  *
+ * <p>The Customer of an Event is kept as its Id, arrival time and
+ * type, and the Server as its List index. Besides the
+ * methods returning new Events, an Event that has been polled from
+ * its EventQueue can be moved to its next state in place and later
+ * recycled through an EventPool, so that the simulation loop does
+ * not create an Event for every state change.
+ *
+ * <p>Every change also packs the ordering of EventComparator into
+ * primitive keys for PackedEventComparator: a tie key holding the
+ * inverted state above the Customer Id, and a fixed-point key that
+ * also holds the time in ticks of 2^-20 (see FIXED_POINT_BITS).
+ *
  * @author Bikramjit Dasgupta
  * @version 3.4
  */
 public class Event {
-    private final Customer customer;
-    private final double time;
-    private final Optional<Server> server;
-    private final int state;
+    private int customerId;
+    private double customerTime;
+    private boolean greedy;
+    private double time;
+    private int serverIndex;
+    private boolean selfCheck;
+    private int state;
+    private long tieKey;
+    private long fixedKey;
     public static final int ARRIVES = 1;
     public static final int SERVED = 2;
     public static final int LEAVES = 3;
@@ -26,6 +44,9 @@ public class Event {
     public static final int SERVER_REST = 6;
     public static final int SERVER_BACK = 7;
     public static final int DOES_NOT_EXIST = -1;
+    public static final int FIXED_POINT_BITS = 20;
+    public static final long FIXED_POINT_MAX_TICKS = 1L << 36;
+    public static final int FIXED_POINT_MAX_ID = 1 << 24;
     public static Supplier<Double> customerTypeSupp;
     public static Supplier<Double> interArrivalSupp;
     public static Supplier<Double> randRestSupp;
@@ -35,16 +56,24 @@ public class Event {
     /**
      * Constructs an Event.
      *
-     * @param customer Customer for this Event.
+     * @param customerId Id of the Customer for this Event, or 0 if there is none.
+     * @param customerTime Time-stamp of the Customer for this Event.
+     * @param greedy Indicator to determine if the Customer is a GreedyCustomer.
      * @param time Time-stamp of this Event.
-     * @param server Optional Server for this Event.
+     * @param serverIndex List index of the Server for this Event, or -1 if there is none.
+     * @param selfCheck Indicator to determine if the Server is a SelfCheckServer.
      * @param state State of this Event.
      */
-    private Event(Customer customer, double time, Optional<Server> server, int state) {
-        this.customer = customer;
+    private Event(int customerId, double customerTime, boolean greedy, double time,
+                  int serverIndex, boolean selfCheck, int state) {
+        this.customerId = customerId;
+        this.customerTime = customerTime;
+        this.greedy = greedy;
         this.time = time;
-        this.server = server;
+        this.serverIndex = serverIndex;
+        this.selfCheck = selfCheck;
         this.state = state;
+        this.pack();
     }
 
     /**
@@ -55,12 +84,14 @@ public class Event {
      * @return New Event based on the given Customer and time-stamp.
      */
     public static Event createEvent(Customer customer, double time) {
-        return new Event(customer, time, Optional.empty(), Event.ARRIVES);
+        return new Event(0, 0.0, false, time, Event.DOES_NOT_EXIST, false, Event.ARRIVES)
+                .reset(customer, time);
     }
 
     /**
      * Initiates the Event static Suppliers based on
-     * RandomGenerator methods.
+     * RandomGenerator methods. These are only drawn from by
+     * simulations without a RunContext of their own.
      *
      * @param seed The RandomGenerator seed.
      * @param lambda The arrival rate.
@@ -84,7 +115,8 @@ public class Event {
      * @return New Event with a SERVED state.
      */
     public Event serve(Server server) {
-        return new Event(this.customer, this.time, Optional.ofNullable(server), Event.SERVED);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time,
+                Event.indexOf(server), server instanceof SelfCheckServer, Event.SERVED);
     }
 
     /**
@@ -94,7 +126,8 @@ public class Event {
      * @return New Event with a DONE state.
      */
     public Event done() {
-        return new Event(this.customer, this.time, this.server, Event.DONE);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time,
+                this.serverIndex, this.selfCheck, Event.DONE);
     }
 
     /**
@@ -104,7 +137,8 @@ public class Event {
      * @return New Event with a LEAVES state.
      */
     public Event leaves() {
-        return new Event(this.customer, this.time, Optional.empty(), Event.LEAVES);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time,
+                Event.DOES_NOT_EXIST, false, Event.LEAVES);
     }
 
     /**
@@ -115,7 +149,8 @@ public class Event {
      * @return New Event with a WAITS state.
      */
     public Event waits(Server server) {
-        return new Event(this.customer, this.time, Optional.ofNullable(server), Event.WAITS);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time,
+                Event.indexOf(server), server instanceof SelfCheckServer, Event.WAITS);
     }
 
     /**
@@ -126,7 +161,8 @@ public class Event {
      * @return New Event with a SERVER_REST state.
      */
     public Event serverRests(Server server) {
-        return new Event(this.customer, this.time, Optional.of(server), Event.SERVER_REST);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time,
+                server.makeListIndex(), server instanceof SelfCheckServer, Event.SERVER_REST);
     }
 
     /**
@@ -137,16 +173,199 @@ public class Event {
      * @return New Event with a SERVER_BACK state.
      */
     public Event serverBack(double restPeriod) {
-        return new Event(this.customer, this.time + restPeriod, this.server, Event.SERVER_BACK);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time + restPeriod,
+                this.serverIndex, this.selfCheck, Event.SERVER_BACK);
+    }
+
+    /**
+     * Resets this Event to an ARRIVES Event, so that it can
+     * be reused for another Customer.
+     *
+     * @param customer Customer for this Event.
+     * @param time Time-stamp for this Event.
+     * @return This Event.
+     */
+    public Event reset(Customer customer, double time) {
+        if (customer == null) {
+            return this.reset(0, 0.0, false, time);
+        }
+        return this.reset(customer.id, customer.getTime(), customer instanceof GreedyCustomer,
+                time);
+    }
+
+    /**
+     * Resets this Event to an ARRIVES Event for a Customer
+     * given by its Id, arrival time and type.
+     *
+     * @param id Customer Id, or 0 if there is no Customer.
+     * @param arrivalTime Time-stamp of the Customer.
+     * @param greedyCustomer Indicator to determine if the Customer is a GreedyCustomer.
+     * @param time Time-stamp for this Event.
+     * @return This Event.
+     */
+    public Event reset(int id, double arrivalTime, boolean greedyCustomer, double time) {
+        this.customerId = id;
+        this.customerTime = arrivalTime;
+        this.greedy = greedyCustomer;
+        this.time = time;
+        this.serverIndex = Event.DOES_NOT_EXIST;
+        this.selfCheck = false;
+        this.state = Event.ARRIVES;
+        this.pack();
+        return this;
+    }
+
+    /**
+     * Changes this Event to a SERVED state in place.
+     *
+     * @param serverIdx List index of the Server used to serve this Event.
+     * @param selfCheckServer Indicator to determine if the Server is a SelfCheckServer.
+     * @return This Event.
+     */
+    public Event setServed(int serverIdx, boolean selfCheckServer) {
+        this.serverIndex = serverIdx;
+        this.selfCheck = selfCheckServer;
+        this.state = Event.SERVED;
+        this.pack();
+        return this;
+    }
+
+    /**
+     * Changes this Event to a WAITS state in place.
+     *
+     * @param serverIdx List index of the Server used to wait this Event.
+     * @param selfCheckServer Indicator to determine if the Server is a SelfCheckServer.
+     * @return This Event.
+     */
+    public Event setWaits(int serverIdx, boolean selfCheckServer) {
+        this.serverIndex = serverIdx;
+        this.selfCheck = selfCheckServer;
+        this.state = Event.WAITS;
+        this.pack();
+        return this;
     }
 
     /**
-     * Returns the Customer in this Event.
+     * Changes this Event to a LEAVES state in place.
      *
-     * @return Customer from this Event.
+     * @return This Event.
+     */
+    public Event setLeaves() {
+        this.serverIndex = Event.DOES_NOT_EXIST;
+        this.selfCheck = false;
+        this.state = Event.LEAVES;
+        this.pack();
+        return this;
+    }
+
+    /**
+     * Changes this Event to a DONE state in place, a given
+     * service time later.
+     *
+     * @param serviceTime Time taken to serve the Customer.
+     * @return This Event.
+     */
+    public Event setDone(double serviceTime) {
+        this.time = this.time + serviceTime;
+        this.state = Event.DONE;
+        this.pack();
+        return this;
+    }
+
+    /**
+     * Changes this Event in place to the SERVER_BACK Event of
+     * a resting Server. Only human Servers rest.
+     *
+     * @param serverIdx List index of the resting Server.
+     * @param restStart Time-stamp at which the Server starts resting.
+     * @param restPeriod Time the Server rests for.
+     * @return This Event.
+     */
+    public Event setServerBack(int serverIdx, double restStart, double restPeriod) {
+        this.customerId = 0;
+        this.customerTime = 0.0;
+        this.greedy = false;
+        this.time = restStart + restPeriod;
+        this.serverIndex = serverIdx;
+        this.selfCheck = false;
+        this.state = Event.SERVER_BACK;
+        this.pack();
+        return this;
+    }
+
+    /**
+     * Packs the state and Customer Id of this Event into its tie key,
+     * and the time, state and Customer Id into its fixed-point key.
+     * Higher states rank first, so the state is stored inverted. The
+     * fixed-point key is Long.MAX_VALUE when the time or Customer Id
+     * does not fit, which PackedEventComparator treats as "compare
+     * exactly".
+     */
+    private void pack() {
+        long invState = 7 - this.state;
+        int id = this.customerId;
+        this.tieKey = (invState << 32) | id;
+        long ticks = (long) (this.time * (1L << Event.FIXED_POINT_BITS));
+        if (ticks >= Event.FIXED_POINT_MAX_TICKS || id >= Event.FIXED_POINT_MAX_ID) {
+            this.fixedKey = Long.MAX_VALUE;
+        } else {
+            this.fixedKey = (ticks << 27) | (invState << 24) | id;
+        }
+    }
+
+    /**
+     * Returns the tie key of this Event, ordering Events with the
+     * same time-stamp by state and then by Customer Id.
+     *
+     * @return Tie key of this Event.
+     */
+    public long getTieKey() {
+        return this.tieKey;
+    }
+
+    /**
+     * Returns the fixed-point key of this Event, ordering Events
+     * by time in ticks, then state, then Customer Id.
+     *
+     * @return Fixed-point key, or Long.MAX_VALUE if this Event does not fit.
+     */
+    public long getFixedKey() {
+        return this.fixedKey;
+    }
+
+    /**
+     * Returns the Customer in this Event, created from its
+     * Id, arrival time and type.
+     *
+     * @return Customer from this Event, or null if there is none.
      */
     public Customer getCustomer() {
-        return this.customer;
+        if (this.customerId == 0) {
+            return null;
+        } else if (this.greedy) {
+            return GreedyCustomer.createGreedyCustomer(this.customerId, this.customerTime);
+        } else {
+            return Customer.createCustomer(this.customerId, this.customerTime);
+        }
+    }
+
+    /**
+     * Returns the Id of the Customer in this Event.
+     *
+     * @return Customer Id, or 0 if there is no Customer.
+     */
+    public int getCustomerId() {
+        return this.customerId;
+    }
+
+    /**
+     * Returns a boolean value indicating if the Customer in
+     * this Event is a GreedyCustomer.
+     *
+     * @return Boolean value indicating if the Customer is a GreedyCustomer.
+     */
+    public boolean isGreedy() {
+        return this.greedy;
     }
 
     /**
@@ -156,7 +375,8 @@ public class Event {
      * @return New Event with the added time.
      */
     public Event addTime(double time) {
-        return new Event(this.customer, this.time + time, this.server, this.state);
+        return new Event(this.customerId, this.customerTime, this.greedy, this.time + time,
+                this.serverIndex, this.selfCheck, this.state);
     }
 
     /**
@@ -185,12 +405,36 @@ public class Event {
      * @return Server index.
      */
     public int serverListIndex() {
-        Server s = this.server.orElse(null);
-        if (s != null) {
-            return s.makeListIndex();
-        } else {
-            return Event.DOES_NOT_EXIST;
-        }
+        return this.serverIndex;
+    }
+
+    /**
+     * Returns a boolean value indicating if the Server of this
+     * Event is a SelfCheckServer.
+     *
+     * @return Boolean value indicating if the Server is a SelfCheckServer.
+     */
+    public boolean isSelfCheckServer() {
+        return this.selfCheck;
+    }
+
+    /**
+     * Returns the state of this Event.
+     *
+     * @return One of the Event state constants.
+     */
+    public int getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns the List index of a Server.
+     *
+     * @param server Server to find the List index of, which may be null.
+     * @return List index of the Server, or -1 if there is none.
+     */
+    private static int indexOf(Server server) {
+        return server == null ? Event.DOES_NOT_EXIST : server.makeListIndex();
     }
 
     /**
@@ -216,7 +460,11 @@ public class Event {
      * @return Value indicating the rank between the two Events.
      */
     public int compareId(Event another) {
-        return this.customer.compareId(another.customer);
+        if (this.customerId == another.customerId) {
+            return 0;
+        } else {
+            return this.customerId > another.customerId ? 1 : -1;
+        }
     }
 
     /**
@@ -234,6 +482,32 @@ public class Event {
         }
     }
 
+    /**
+     * Returns a String naming the Server of this Event, as
+     * given by Server and SelfCheckServer.
+     *
+     * @return String naming the Server of this Event.
+     */
+    private String serverLabel() {
+        return (this.selfCheck ? "self-check " : "server ") + (this.serverIndex + 1);
+    }
+
+    /**
+     * Returns a String naming the Customer of this Event, as
+     * given by Customer and GreedyCustomer.
+     *
+     * @return String naming the Customer of this Event.
+     */
+    private String customerString() {
+        if (this.customerId == 0) {
+            return "null";
+        } else if (this.greedy) {
+            return this.customerId + "(greedy)";
+        } else {
+            return "" + this.customerId;
+        }
+    }
+
     /**
      * Returns a String based on this Event.
      *
@@ -245,11 +519,11 @@ public class Event {
         if (this.state == Event.LEAVES) {
             stateString = " leaves";
         } else if (this.state == Event.SERVED) {
-            stateString = " served by " + this.server.get();
+            stateString = " served by " + this.serverLabel();
         } else if (this.state == Event.WAITS) {
-            stateString = " waits to be served by " + this.server.get();
+            stateString = " waits to be served by " + this.serverLabel();
         } else if (this.state == Event.DONE) {
-            stateString = " done serving by " + this.server.get();
+            stateString = " done serving by " + this.serverLabel();
         } else if (this.state == Event.SERVER_BACK) {
             stateString = "";
         } else if (this.state == Event.SERVER_REST) {
@@ -257,6 +531,6 @@ public class Event {
         } else {
             stateString = " arrives";
         }
-        return String.format("%.3f " + this.customer + stateString, this.time);
+        return String.format("%.3f " + this.customerString() + stateString, this.time);
     }
 }
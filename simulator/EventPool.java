@@ -0,0 +1,69 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import cs2030.simulator.Event;
+
+/**
+ * EventPool class to keep Events that are no longer in use, so
+ * that they can be reset and reused instead of creating new ones.
+ * The pool only grows to the largest number of Events in use at
+ * the same time.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class EventPool {
+    private Event[] events;
+    private int size;
+
+    /**
+     * Constructs an EventPool.
+     */
+    private EventPool() {
+        this.events = new Event[16];
+        this.size = 0;
+    }
+
+    /**
+     * Creates an empty EventPool.
+     *
+     * @return New EventPool.
+     */
+    public static EventPool createEventPool() {
+        return new EventPool();
+    }
+
+    /**
+     * Returns an ARRIVES Event for a Customer arriving at the
+     * given time, reusing a released Event if there is one.
+     *
+     * @param id Customer Id.
+     * @param greedy Indicator to determine if the Customer is a GreedyCustomer.
+     * @param time Time-stamp for the Event.
+     * @return ARRIVES Event based on the given Customer and time-stamp.
+     */
+    public Event obtain(int id, boolean greedy, double time) {
+        Event event;
+        if (this.size == 0) {
+            event = Event.createEvent(null, time);
+        } else {
+            this.size--;
+            event = this.events[this.size];
+            this.events[this.size] = null;
+        }
+        return event.reset(id, time, greedy, time);
+    }
+
+    /**
+     * Returns an Event that is no longer referenced to this EventPool.
+     *
+     * @param event Event to release.
+     */
+    public void release(Event event) {
+        if (this.size == this.events.length) {
+            this.events = Arrays.copyOf(this.events, this.size * 2);
+        }
+        this.events[this.size] = event;
+        this.size++;
+    }
+}
@@ -0,0 +1,99 @@
+package cs2030.simulator;
+
+import java.util.Comparator;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+
+/**
+ * EventQueue interface for the pending Events of a simulation,
+ * polled in the order given by EventComparator.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public interface EventQueue {
+    int BINARY_HEAP = 0;
+    int FOUR_ARY_HEAP = 1;
+    int PAIRING_HEAP = 2;
+    int CALENDAR_QUEUE = 3;
+
+    /**
+     * Adds an Event to this EventQueue.
+     *
+     * @param event Event to add.
+     */
+    void offer(Event event);
+
+    /**
+     * Removes and returns the first Event in this EventQueue.
+     *
+     * @return First Event, or null if this EventQueue is empty.
+     */
+    Event poll();
+
+    /**
+     * Returns a boolean value indicating if this EventQueue is empty.
+     *
+     * @return Boolean value indicating if this EventQueue is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of Events in this EventQueue.
+     *
+     * @return Number of Events in this EventQueue.
+     */
+    int size();
+
+    /**
+     * Creates an empty EventQueue of the given type.
+     *
+     * @param type One of the EventQueue type constants.
+     * @return New EventQueue of the given type.
+     */
+    static EventQueue createEventQueue(int type) {
+        return EventQueue.createEventQueue(type, new EventComparator());
+    }
+
+    /**
+     * Creates an empty EventQueue of the given type, ranking
+     * Events with a given Comparator.
+     *
+     * @param type One of the EventQueue type constants.
+     * @param comparator Comparator ranking the Events.
+     * @return New EventQueue of the given type.
+     */
+    static EventQueue createEventQueue(int type, Comparator<Event> comparator) {
+        if (type == EventQueue.FOUR_ARY_HEAP) {
+            return DaryHeapEventQueue.createEventQueue(comparator);
+        } else if (type == EventQueue.PAIRING_HEAP) {
+            return PairingHeapEventQueue.createEventQueue(comparator);
+        } else if (type == EventQueue.CALENDAR_QUEUE) {
+            return CalendarEventQueue.createEventQueue(comparator);
+        } else if (type == EventQueue.BINARY_HEAP) {
+            return BinaryHeapEventQueue.createEventQueue(comparator);
+        } else {
+            throw new IllegalArgumentException("Unknown event queue type: " + type);
+        }
+    }
+
+    /**
+     * Returns the EventQueue type constant for a given name.
+     *
+     * @param name One of "binary", "4ary", "pairing" or "calendar".
+     * @return EventQueue type constant for the name.
+     */
+    static int parseType(String name) {
+        if (name.equals("binary")) {
+            return EventQueue.BINARY_HEAP;
+        } else if (name.equals("4ary")) {
+            return EventQueue.FOUR_ARY_HEAP;
+        } else if (name.equals("pairing")) {
+            return EventQueue.PAIRING_HEAP;
+        } else if (name.equals("calendar")) {
+            return EventQueue.CALENDAR_QUEUE;
+        } else {
+            throw new IllegalArgumentException("Unknown event queue: " + name);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package cs2030.simulator;
+
+import java.util.Random;
+import cs2030.simulator.Customer;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventQueue;
+
+/**
+ * EventQueueBenchmark class to compare the EventQueue types with
+ * the classic "hold" model: the queue is filled with a fixed number
+ * of Events, then each operation polls the earliest Event and offers
+ * it back an exponential time later, as the simulation loop does.
+ *
+ * <p>Usage: {@code java cs2030.simulator.EventQueueBenchmark [holds]}
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class EventQueueBenchmark {
+    private static final int[] SIZES = {10, 1000, 100000};
+    private static final int[] TYPES = {EventQueue.BINARY_HEAP, EventQueue.FOUR_ARY_HEAP,
+        EventQueue.PAIRING_HEAP, EventQueue.CALENDAR_QUEUE};
+    private static final String[] NAMES = {"binary", "4ary", "pairing", "calendar"};
+    private static final int ROUNDS = 5;
+
+    /**
+     * Runs the hold benchmark for every EventQueue type at 10, 1k and
+     * 100k concurrent Events and prints the best time per hold.
+     *
+     * @param args Optional number of holds per round.
+     */
+    public static void main(String[] args) {
+        int holds = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        System.out.printf("%10s", "events");
+        for (String name : EventQueueBenchmark.NAMES) {
+            System.out.printf("%12s", name);
+        }
+        System.out.println("   (ns per hold)");
+        for (int size : EventQueueBenchmark.SIZES) {
+            System.out.printf("%10d", size);
+            for (int type : EventQueueBenchmark.TYPES) {
+                double best = Double.MAX_VALUE;
+                for (int round = 0; round < EventQueueBenchmark.ROUNDS; round++) {
+                    best = Math.min(best, EventQueueBenchmark.hold(type, size, holds));
+                }
+                System.out.printf("%12.1f", best);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Times one round of the hold model.
+     *
+     * @param type EventQueue type constant.
+     * @param size Number of concurrent Events.
+     * @param holds Number of poll-and-offer operations.
+     * @return Average nanoseconds per hold.
+     */
+    private static double hold(int type, int size, int holds) {
+        Random random = new Random(size);
+        EventQueue queue = EventQueue.createEventQueue(type);
+        for (int i = 1; i <= size; i++) {
+            double time = -Math.log(1.0 - random.nextDouble());
+            queue.offer(Event.createEvent(Customer.createCustomer(i, time), time));
+        }
+        double[] gaps = new double[4096];
+        for (int i = 0; i < gaps.length; i++) {
+            gaps[i] = -Math.log(1.0 - random.nextDouble());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < holds; i++) {
+            Event event = queue.poll();
+            queue.offer(event.addTime(gaps[i & (gaps.length - 1)]));
+        }
+        long elapsed = System.nanoTime() - start;
+        if (queue.size() != size) {
+            throw new IllegalStateException("Lost events in " + type);
+        }
+        return (double) elapsed / holds;
+    }
+}
@@ -0,0 +1,81 @@
+package cs2030.simulator;
+
+/**
+ * IndexSet class to store a set of List indices as a two-level
+ * bitset. A summary word marks which 64-bit words are non-empty,
+ * so finding the lowest index reads two words for up to 4096
+ * indices and stays a short scan for far larger sets.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class IndexSet {
+    private static final int DOES_NOT_EXIST = -1;
+    private final long[] words;
+    private final long[] summary;
+
+    /**
+     * Constructs an IndexSet.
+     *
+     * @param capacity Number of indices the IndexSet can hold.
+     */
+    private IndexSet(int capacity) {
+        int wordCount = (capacity + 63) >>> 6;
+        this.words = new long[Math.max(1, wordCount)];
+        this.summary = new long[(this.words.length + 63) >>> 6];
+    }
+
+    /**
+     * Creates an empty IndexSet.
+     *
+     * @param capacity Number of indices the IndexSet can hold.
+     * @return New empty IndexSet.
+     */
+    public static IndexSet createIndexSet(int capacity) {
+        return new IndexSet(capacity);
+    }
+
+    /**
+     * Adds or removes an index.
+     *
+     * @param index Index to change.
+     * @param present Indicator to determine if the index is in the set.
+     */
+    public void set(int index, boolean present) {
+        int w = index >>> 6;
+        if (present) {
+            this.words[w] |= 1L << index;
+            this.summary[w >>> 6] |= 1L << w;
+        } else {
+            this.words[w] &= ~(1L << index);
+            if (this.words[w] == 0) {
+                this.summary[w >>> 6] &= ~(1L << w);
+            }
+        }
+    }
+
+    /**
+     * Returns a boolean value indicating if an index is in this IndexSet.
+     *
+     * @param index Index to check.
+     * @return Boolean value indicating if the index is in this IndexSet.
+     */
+    public boolean contains(int index) {
+        return (this.words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the lowest index in this IndexSet.
+     *
+     * @return Lowest index, or -1 if this IndexSet is empty.
+     */
+    public int first() {
+        for (int s = 0; s < this.summary.length; s++) {
+            if (this.summary[s] != 0) {
+                int w = (s << 6) + Long.numberOfTrailingZeros(this.summary[s]);
+                return (w << 6) + Long.numberOfTrailingZeros(this.words[w]);
+            }
+        }
+        return IndexSet.DOES_NOT_EXIST;
+    }
+}
@@ -0,0 +1,190 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * KeyedVariates class to draw the random values of a simulation
+ * from counter-based substreams keyed by what they are for, rather
+ * than in the order the Events happen to ask for them.
+ *
+ * <p>Each value is a hash of the seed, its purpose, its key and a
+ * counter. The inter-arrival time, type and service time of a
+ * Customer are keyed by its Id, and the rest decisions and rest
+ * periods of a Server by its List index and how many it has drawn.
+ * Two configurations run with the same seed therefore see the same
+ * arrivals and service demands (common random numbers), however the
+ * Customers are routed, which makes their difference far less noisy.
+ *
+ * <p>An antithetic KeyedVariates draws 1 - u wherever the ordinary
+ * one draws u, so a pair of runs with the same seed is negatively
+ * correlated and their average has a smaller variance.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class KeyedVariates {
+    public static final int INTER_ARRIVAL = 0;
+    public static final int SERVICE = 1;
+    public static final int REST_DECISION = 2;
+    public static final int REST_PERIOD = 3;
+    public static final int CUSTOMER_TYPE = 4;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long KEY_MULTIPLIER = 0xD1B54A32D192ED03L;
+    private static final long UNIFORM_MAX = (1L << 53) - 1;
+    private static final double UNIFORM_SCALE = 0x1.0p-53;
+    private final long seed;
+    private final double lambda;
+    private final double mu;
+    private final double rho;
+    private final boolean antithetic;
+    private int[] restDecisions;
+    private int[] restPeriods;
+
+    /**
+     * Constructs a KeyedVariates.
+     *
+     * @param seed The seed.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @param rho The resting rate.
+     * @param antithetic Indicator to determine if 1 - u is drawn instead of u.
+     */
+    private KeyedVariates(long seed, double lambda, double mu, double rho, boolean antithetic) {
+        this.seed = seed;
+        this.lambda = lambda;
+        this.mu = mu;
+        this.rho = rho;
+        this.antithetic = antithetic;
+        this.restDecisions = new int[0];
+        this.restPeriods = new int[0];
+    }
+
+    /**
+     * Creates a KeyedVariates.
+     *
+     * @param seed The seed.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @param rho The resting rate.
+     * @param antithetic Indicator to determine if 1 - u is drawn instead of u.
+     * @return New KeyedVariates based on the given seed and rates.
+     */
+    public static KeyedVariates createKeyedVariates(int seed, double lambda, double mu,
+                                                    double rho, boolean antithetic) {
+        return new KeyedVariates(seed, lambda, mu, rho, antithetic);
+    }
+
+    /**
+     * Mixes the bits of a long (SplitMix64 finaliser).
+     *
+     * @param z Value to mix.
+     * @return Mixed value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the uniform value of a purpose, key and counter.
+     *
+     * @param purpose One of the KeyedVariates purpose constants.
+     * @param key Customer Id or Server List index.
+     * @param counter Number of values drawn before for the same purpose and key.
+     * @return Value in (0, 1).
+     */
+    public double uniform(int purpose, long key, long counter) {
+        long z = KeyedVariates.mix(this.seed + (purpose + 1) * KeyedVariates.GOLDEN_GAMMA);
+        z = KeyedVariates.mix(z ^ key * KeyedVariates.KEY_MULTIPLIER);
+        z = KeyedVariates.mix(z + counter * KeyedVariates.GOLDEN_GAMMA);
+        long bits = z >>> 11;
+        if (this.antithetic) {
+            bits = KeyedVariates.UNIFORM_MAX - bits;
+        }
+        return (bits + 0.5) * KeyedVariates.UNIFORM_SCALE;
+    }
+
+    /**
+     * Returns the exponential value of a purpose, key and counter.
+     *
+     * @param purpose One of the KeyedVariates purpose constants.
+     * @param key Customer Id or Server List index.
+     * @param counter Number of values drawn before for the same purpose and key.
+     * @param rate Rate of the exponential distribution.
+     * @return Exponential value, drawn as -ln(u) / rate.
+     */
+    private double exponential(int purpose, long key, long counter, double rate) {
+        return -Math.log(this.uniform(purpose, key, counter)) / rate;
+    }
+
+    /**
+     * Returns an array of counters by Server List index, grown if
+     * needed to hold the counter of the given Server.
+     *
+     * @param counters Array of counters by Server List index.
+     * @param serverIdx List index of the Server.
+     * @return Array holding the counter of the Server.
+     */
+    private static int[] fit(int[] counters, int serverIdx) {
+        if (serverIdx < counters.length) {
+            return counters;
+        }
+        return Arrays.copyOf(counters, Math.max(serverIdx + 1, counters.length * 2));
+    }
+
+    /**
+     * Draws the time from the arrival of a Customer to the next.
+     *
+     * @param customerId Id of the Customer.
+     * @return Inter-arrival time.
+     */
+    public double genInterArrivalTime(int customerId) {
+        return this.exponential(KeyedVariates.INTER_ARRIVAL, customerId, 0, this.lambda);
+    }
+
+    /**
+     * Draws the value deciding if a Customer is greedy.
+     *
+     * @param customerId Id of the Customer.
+     * @return Value in (0, 1).
+     */
+    public double genCustomerType(int customerId) {
+        return this.uniform(KeyedVariates.CUSTOMER_TYPE, customerId, 0);
+    }
+
+    /**
+     * Draws the time taken to serve a Customer, whichever Server
+     * serves it.
+     *
+     * @param customerId Id of the Customer.
+     * @return Service time.
+     */
+    public double genServiceTime(int customerId) {
+        return this.exponential(KeyedVariates.SERVICE, customerId, 0, this.mu);
+    }
+
+    /**
+     * Draws the next value deciding if a Server rests.
+     *
+     * @param serverIdx List index of the Server.
+     * @return Value in (0, 1).
+     */
+    public double genRandomRest(int serverIdx) {
+        this.restDecisions = KeyedVariates.fit(this.restDecisions, serverIdx);
+        return this.uniform(KeyedVariates.REST_DECISION, serverIdx,
+                this.restDecisions[serverIdx]++);
+    }
+
+    /**
+     * Draws the next rest period of a Server.
+     *
+     * @param serverIdx List index of the Server.
+     * @return Rest period.
+     */
+    public double genRestPeriod(int serverIdx) {
+        this.restPeriods = KeyedVariates.fit(this.restPeriods, serverIdx);
+        return this.exponential(KeyedVariates.REST_PERIOD, serverIdx,
+                this.restPeriods[serverIdx]++, this.rho);
+    }
+}
@@ -1,6 +1,6 @@
 import java.util.Scanner;
-import cs2030.simulator.Shop;
-import cs2030.simulator.Event;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Scenario;
 
 /**
  * Main class for a program to simulate discrete events
@@ -15,33 +15,22 @@ public class Main {
      * Uses a Scanner and calls another method to read
      * user input.
      *
-     * @param args String array of arguments.
+     * @param args String array of optional "--name=value" RunOptions flags.
      */
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
-        inputAndRun(sc);
+        inputAndRun(sc, RunOptions.parseOptions(args));
         sc.close();
     }
 
     /**
-     * Reads user input through a given Scanner and
-     * (i) configures public Suppliers for Events, and
-     * (ii) calls the Shop class to run and print the simulation.
+     * Reads user input through a given Scanner and runs
+     * and prints the simulation of the Scenario it describes.
      *
      * @param sc Scanner to read input.
+     * @param options RunOptions for the simulation.
      */
-    private static void inputAndRun(Scanner sc) {
-        final int seed = sc.nextInt();
-        final int serverNum = sc.nextInt();
-        final int selfCheckNum = sc.nextInt();
-        final int qLength = sc.nextInt();
-        final int customerNum = sc.nextInt();
-        final double arrRate = sc.nextDouble();
-        final double serveRate = sc.nextDouble();
-        final double restRate = sc.nextDouble();
-        final double restProb = sc.nextDouble();
-        final double greedyCustomers = sc.nextDouble();
-        Event.initSuppliers(seed, arrRate, serveRate, restRate);
-        Shop.execute(serverNum, qLength, customerNum, restProb, selfCheckNum, greedyCustomers);
+    private static void inputAndRun(Scanner sc, RunOptions options) {
+        Scenario.readScenario(sc).run(options, System.out);
     }
 }
@@ -0,0 +1,270 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.Scanner;
+import cs2030.simulator.AnalyticResult;
+import cs2030.simulator.ReplicationRunner;
+import cs2030.simulator.ReplicationSummary;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Scenario;
+
+/**
+ * MarkovEvaluator class to find the exact steady-state measures of
+ * a Shop without simulating it, when no Server rests, no Customer
+ * is greedy and there are no SelfCheckServers.
+ *
+ * <p>The Shop is then a continuous-time Markov chain, but not the
+ * M/M/c/K queue: every human Server has its own queue of qLength
+ * places, an arriving Customer goes to the first idle Server, or
+ * else joins the first queue with room (Shop.findFirstWithRoom), or
+ * else leaves, and Customers never change queues. The state is the
+ * number of Customers at each Server, 0 to qLength + 1, so there are
+ * (qLength + 2)^servers states. Their stationary probabilities are
+ * solved for by Gauss-Seidel sweeps over the incoming transitions,
+ * and the waiting time follows from Little's law over the Customers
+ * who are served. An arriving Customer sees the stationary state
+ * (PASTA), so the share who leave is the probability that every
+ * queue is full.
+ *
+ * <p>Gauss-Seidel may need thousands of sweeps when the Servers are
+ * heavily loaded, so chains of more than MAX_TRANSITIONS transitions
+ * are left to the simulator, which is then faster, and so are chains
+ * that have not converged once the sweeps have visited MAX_WORK
+ * transitions, about as long as simulating 100000 Customers.
+ *
+ * <p>Usage: {@code java cs2030.simulator.MarkovEvaluator [--validate=replications]},
+ * with the ten values Main reads on standard input. With validation,
+ * the Scenario is also simulated and the two are compared. A Scenario
+ * that cannot be evaluated exactly is reported as such.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class MarkovEvaluator {
+    public static final int MAX_TRANSITIONS = 1 << 16;
+    public static final long MAX_WORK = 1L << 27;
+    public static final double DEFAULT_TOLERANCE = 0.02;
+    private static final double CONVERGENCE = 1e-13;
+
+    /**
+     * Reads a Scenario from standard input and prints its exact
+     * steady-state measures, and optionally how they compare with
+     * simulated replications, or "unsupported, simulate" if it
+     * cannot be evaluated exactly.
+     *
+     * @param args Optional "--validate=replications" flag.
+     */
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+        Scenario scenario = Scenario.readScenario(sc);
+        sc.close();
+        if (!scenario.isMarkovian()) {
+            System.out.println("unsupported, simulate");
+            return;
+        }
+        AnalyticResult result = scenario.evaluate();
+        if (result == null) {
+            System.out.println("unsupported, simulate");
+            return;
+        }
+        System.out.println(result);
+        for (String arg : args) {
+            if (arg.startsWith("--validate=")) {
+                int replications = Integer.parseInt(arg.substring("--validate=".length()));
+                ReplicationSummary summary = ReplicationRunner.replicate(scenario, replications,
+                        Runtime.getRuntime().availableProcessors(),
+                        RunOptions.createRunOptions());
+                System.out.println(summary);
+                System.out.println(result.agreesWith(summary, MarkovEvaluator.DEFAULT_TOLERANCE)
+                        ? "agrees" : "disagrees");
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+    }
+
+    /**
+     * Returns a boolean value indicating if a Shop can be evaluated
+     * exactly, within MAX_TRANSITIONS transitions.
+     *
+     * @param humanNum Number of human Servers.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param qLength Maximum number of waiting Customers in a Server queue.
+     * @param restProb Probability of a Server resting.
+     * @param greedyCustomers Probability of a Customer being greedy.
+     * @return Boolean value indicating if the Shop can be evaluated exactly.
+     */
+    public static boolean isSupported(int humanNum, int selfCheckNum, int qLength,
+                                      double restProb, double greedyCustomers) {
+        if (humanNum < 1 || selfCheckNum != 0 || qLength < 0 || restProb != 0 ||
+                greedyCustomers != 0) {
+            return false;
+        }
+        double states = Math.pow(qLength + 2, humanNum);
+        return states * (humanNum + 1) <= MarkovEvaluator.MAX_TRANSITIONS;
+    }
+
+    /**
+     * Finds the exact steady-state measures of a Shop of human
+     * Servers with their own queues.
+     *
+     * @param humanNum Number of human Servers.
+     * @param qLength Maximum number of waiting Customers in a Server queue.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @return AnalyticResult of the Shop, or null if it does not converge within MAX_WORK.
+     */
+    public static AnalyticResult evaluate(int humanNum, int qLength, double lambda, double mu) {
+        if (!MarkovEvaluator.isSupported(humanNum, 0, qLength, 0, 0)) {
+            throw new IllegalArgumentException("Markov chain too large or unsupported");
+        }
+        int base = qLength + 2;
+        int states = 1;
+        for (int i = 0; i < humanNum; i++) {
+            states *= base;
+        }
+        int[] start = new int[states + 1];
+        double[] outRates = new double[states];
+        int[] counts = new int[humanNum];
+        for (int s = 0; s < states; s++) {
+            MarkovEvaluator.decode(s, base, counts);
+            int arrival = MarkovEvaluator.arrivalTarget(s, counts, base);
+            if (arrival != s) {
+                start[arrival + 1]++;
+                outRates[s] += lambda;
+            }
+            int weight = 1;
+            for (int i = 0; i < humanNum; i++) {
+                if (counts[i] > 0) {
+                    start[s - weight + 1]++;
+                    outRates[s] += mu;
+                }
+                weight *= base;
+            }
+        }
+        for (int s = 0; s < states; s++) {
+            start[s + 1] += start[s];
+        }
+        int[] sources = new int[start[states]];
+        int[] next = start.clone();
+        for (int s = 0; s < states; s++) {
+            MarkovEvaluator.decode(s, base, counts);
+            int arrival = MarkovEvaluator.arrivalTarget(s, counts, base);
+            if (arrival != s) {
+                sources[next[arrival]++] = s << 1;
+            }
+            int weight = 1;
+            for (int i = 0; i < humanNum; i++) {
+                if (counts[i] > 0) {
+                    sources[next[s - weight]++] = (s << 1) | 1;
+                }
+                weight *= base;
+            }
+        }
+        double[] pi = new double[states];
+        Arrays.fill(pi, 1.0 / states);
+        long maxSweeps = MarkovEvaluator.MAX_WORK / (states + sources.length);
+        int sweeps = 0;
+        double change = Double.POSITIVE_INFINITY;
+        while (change > MarkovEvaluator.CONVERGENCE && sweeps < maxSweeps) {
+            change = 0.0;
+            double total = 0.0;
+            for (int s = 0; s < states; s++) {
+                double inflow = 0.0;
+                for (int t = start[s]; t < start[s + 1]; t++) {
+                    int source = sources[t];
+                    inflow += pi[source >>> 1] * ((source & 1) == 0 ? lambda : mu);
+                }
+                double value = inflow / outRates[s];
+                change = Math.max(change, Math.abs(value - pi[s]));
+                pi[s] = value;
+                total += value;
+            }
+            for (int s = 0; s < states; s++) {
+                pi[s] /= total;
+            }
+            sweeps++;
+        }
+        if (change > MarkovEvaluator.CONVERGENCE) {
+            return null;
+        }
+        return MarkovEvaluator.measure(pi, humanNum, base, lambda, sweeps);
+    }
+
+    /**
+     * Works out the measures of the Shop from the stationary
+     * probabilities.
+     *
+     * @param pi Stationary probability of each state.
+     * @param humanNum Number of human Servers.
+     * @param base Number of Customers a Server can hold, plus one.
+     * @param lambda The arrival rate.
+     * @param sweeps Number of Gauss-Seidel sweeps taken.
+     * @return AnalyticResult of the Shop.
+     */
+    private static AnalyticResult measure(double[] pi, int humanNum, int base, double lambda,
+                                          int sweeps) {
+        double[] utilisations = new double[humanNum];
+        double[] queueLengths = new double[humanNum];
+        int[] counts = new int[humanNum];
+        double waiting = 0.0;
+        for (int s = 0; s < pi.length; s++) {
+            MarkovEvaluator.decode(s, base, counts);
+            for (int i = 0; i < humanNum; i++) {
+                if (counts[i] > 0) {
+                    utilisations[i] += pi[s];
+                    queueLengths[i] += pi[s] * (counts[i] - 1);
+                    waiting += pi[s] * (counts[i] - 1);
+                }
+            }
+        }
+        double leftShare = pi[pi.length - 1];
+        double served = lambda * (1 - leftShare);
+        return AnalyticResult.createResult(waiting / served, leftShare, utilisations,
+                queueLengths, pi.length, sweeps);
+    }
+
+    /**
+     * Returns the state after a Customer arrives: one more at the
+     * first idle Server, or else at the first Server with room in
+     * its queue, or else the same state as the Customer leaves.
+     *
+     * @param state Current state.
+     * @param counts Number of Customers at each Server in the state.
+     * @param base Number of Customers a Server can hold, plus one.
+     * @return State after the arrival.
+     */
+    private static int arrivalTarget(int state, int[] counts, int base) {
+        int weight = 1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                return state + weight;
+            }
+            weight *= base;
+        }
+        weight = 1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < base - 1) {
+                return state + weight;
+            }
+            weight *= base;
+        }
+        return state;
+    }
+
+    /**
+     * Decodes a state into the number of Customers at each Server,
+     * the first Server being the least significant digit.
+     *
+     * @param state State to decode.
+     * @param base Number of Customers a Server can hold, plus one.
+     * @param counts Array to fill with the number of Customers at each Server.
+     */
+    private static void decode(int state, int base, int[] counts) {
+        int rest = state;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = rest % base;
+            rest /= base;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cs2030.simulator;
+
+import cs2030.simulator.Event;
+import cs2030.simulator.TraceSink;
+
+/**
+ * NullTraceSink class to drop the trace, for runs that only need
+ * the Statistics. Events are never turned into Strings.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class NullTraceSink implements TraceSink {
+
+    /**
+     * Constructs a NullTraceSink.
+     */
+    private NullTraceSink() {
+    }
+
+    /**
+     * Creates a NullTraceSink.
+     *
+     * @return New NullTraceSink.
+     */
+    public static NullTraceSink createTraceSink() {
+        return new NullTraceSink();
+    }
+
+    /**
+     * Drops the trace line of an Event.
+     *
+     * @param event Event to record.
+     */
+    @Override
+    public void trace(Event event) {
+    }
+
+    /**
+     * Does nothing, as nothing is held back.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Does nothing, as nothing is held back.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,120 @@
+package cs2030.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Scanner;
+import cs2030.simulator.Event;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Scenario;
+
+/**
+ * PackedEventComparator class to rank Event objects by the
+ * primitive keys packed into every Event, instead of calling
+ * the compare methods of Event and Customer.
+ *
+ * <p>In the exact mode, the time-stamps are compared first and
+ * the tie keys after, which gives the same order as
+ * EventComparator for every input. In the fixed-point mode a
+ * single long is compared, holding the time in ticks of 2^-20
+ * (about 1e-6). Two Events less than a tick apart are then ranked
+ * by state and Customer Id instead of by time, so the order only
+ * matches EventComparator while no two Events fall in the same tick.
+ * Times from 2^16 (65536) onwards and Customer Ids from 2^24 do not
+ * fit in the key, and such Events are compared exactly.
+ *
+ * <p>Usage: {@code java cs2030.simulator.PackedEventComparator},
+ * with the ten values Main reads on standard input, runs the
+ * Scenario with object and with fixed-point keys and checks that
+ * both print the same output.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class PackedEventComparator implements Comparator<Event> {
+    private final boolean fixedPoint;
+
+    /**
+     * Constructs a PackedEventComparator.
+     *
+     * @param fixedPoint Indicator to determine if the fixed-point key is compared.
+     */
+    private PackedEventComparator(boolean fixedPoint) {
+        this.fixedPoint = fixedPoint;
+    }
+
+    /**
+     * Creates a PackedEventComparator.
+     *
+     * @param fixedPoint Indicator to determine if the fixed-point key is compared.
+     * @return New PackedEventComparator.
+     */
+    public static PackedEventComparator createComparator(boolean fixedPoint) {
+        return new PackedEventComparator(fixedPoint);
+    }
+
+    /**
+     * Reads a Scenario from standard input, runs it with object and
+     * with fixed-point keys and prints "same" if both print the same
+     * output, or else the first line where they differ.
+     *
+     * @param args Optional "--name=value" RunOptions flags for both runs.
+     */
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+        Scenario scenario = Scenario.readScenario(sc);
+        sc.close();
+        RunOptions options = RunOptions.parseOptions(args);
+        String[] object = PackedEventComparator.output(scenario,
+                options.withEventKeys(RunOptions.OBJECT_KEYS));
+        String[] fixed = PackedEventComparator.output(scenario,
+                options.withEventKeys(RunOptions.FIXED_POINT_KEYS));
+        int line = Arrays.mismatch(object, fixed);
+        if (line < 0) {
+            System.out.println("same, " + object.length + " lines");
+        } else {
+            System.out.println("differs at line " + (line + 1));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a Scenario and returns the lines it prints.
+     *
+     * @param scenario Scenario to run.
+     * @param options RunOptions for the run.
+     * @return Lines printed by the run.
+     */
+    private static String[] output(Scenario scenario, RunOptions options) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes);
+        scenario.run(options, out);
+        out.flush();
+        return bytes.toString().split("\n");
+    }
+
+    /**
+     * Compares two Event objects by their packed keys.
+     *
+     * @param a The first Event used in this comparator.
+     * @param b The second Event used in this comparator.
+     * @return Integer value indicating the ranking between the two Events.
+     */
+    @Override
+    public int compare(Event a, Event b) {
+        if (this.fixedPoint) {
+            long ka = a.getFixedKey();
+            long kb = b.getFixedKey();
+            if (ka != Long.MAX_VALUE && kb != Long.MAX_VALUE) {
+                return Long.compare(ka, kb);
+            }
+        }
+        double ta = a.getTime();
+        double tb = b.getTime();
+        if (ta != tb) {
+            return ta < tb ? -1 : 1;
+        }
+        return Long.compare(a.getTieKey(), b.getTieKey());
+    }
+}
@@ -0,0 +1,161 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.EventQueue;
+
+/**
+ * PairingHeapEventQueue class to keep pending Events in a
+ * pairing heap, with O(1) offers and amortized O(log n) polls.
+ * Removed nodes are kept on a free list and reused by later offers.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class PairingHeapEventQueue implements EventQueue {
+    private final Comparator<Event> comparator;
+    private Node root;
+    private Node free;
+    private Node[] pairs;
+    private int size;
+
+    /**
+     * Node class to store an Event with its first child
+     * and next sibling.
+     */
+    private static class Node {
+        private Event event;
+        private Node child;
+        private Node sibling;
+    }
+
+    /**
+     * Constructs a PairingHeapEventQueue.
+     *
+     * @param comparator Comparator ranking the Events.
+     */
+    private PairingHeapEventQueue(Comparator<Event> comparator) {
+        this.comparator = comparator;
+        this.root = null;
+        this.free = null;
+        this.pairs = new Node[16];
+        this.size = 0;
+    }
+
+    /**
+     * Creates an empty PairingHeapEventQueue.
+     *
+     * @return New PairingHeapEventQueue.
+     */
+    public static PairingHeapEventQueue createEventQueue() {
+        return new PairingHeapEventQueue(new EventComparator());
+    }
+
+    /**
+     * Creates an empty PairingHeapEventQueue ranking Events with a given Comparator.
+     *
+     * @param comparator Comparator ranking the Events.
+     * @return New PairingHeapEventQueue.
+     */
+    public static PairingHeapEventQueue createEventQueue(Comparator<Event> comparator) {
+        return new PairingHeapEventQueue(comparator);
+    }
+
+    @Override
+    public void offer(Event event) {
+        Node node = this.free;
+        if (node == null) {
+            node = new Node();
+        } else {
+            this.free = node.sibling;
+            node.sibling = null;
+        }
+        node.event = event;
+        this.root = this.root == null ? node : this.meld(this.root, node);
+        this.size++;
+    }
+
+    @Override
+    public Event poll() {
+        if (this.root == null) {
+            return null;
+        }
+        Node first = this.root;
+        this.root = this.mergePairs(first.child);
+        this.size--;
+        Event event = first.event;
+        first.event = null;
+        first.child = null;
+        first.sibling = this.free;
+        this.free = first;
+        return event;
+    }
+
+    /**
+     * Links two heap roots, making the later one the first
+     * child of the earlier one.
+     *
+     * @param a The first root.
+     * @param b The second root.
+     * @return The root of the linked heap.
+     */
+    private Node meld(Node a, Node b) {
+        if (this.comparator.compare(b.event, a.event) < 0) {
+            Node t = a;
+            a = b;
+            b = t;
+        }
+        b.sibling = a.child;
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Combines a list of siblings with the standard two-pass
+     * pairing: meld left to right in pairs, then meld the pairs
+     * right to left.
+     *
+     * @param first The first sibling of the list.
+     * @return The root of the combined heap.
+     */
+    private Node mergePairs(Node first) {
+        int count = 0;
+        Node node = first;
+        while (node != null) {
+            Node a = node;
+            Node b = a.sibling;
+            if (b == null) {
+                node = null;
+                a.sibling = null;
+            } else {
+                node = b.sibling;
+                a.sibling = null;
+                b.sibling = null;
+                a = this.meld(a, b);
+            }
+            if (count == this.pairs.length) {
+                this.pairs = Arrays.copyOf(this.pairs, count * 2);
+            }
+            this.pairs[count] = a;
+            count++;
+        }
+        Node result = null;
+        for (int i = count - 1; i >= 0; i--) {
+            result = result == null ? this.pairs[i] : this.meld(this.pairs[i], result);
+            this.pairs[i] = null;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
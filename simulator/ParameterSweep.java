@@ -0,0 +1,230 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import cs2030.simulator.AnalyticResult;
+import cs2030.simulator.ReplicationRunner;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Scenario;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.SweepRange;
+import cs2030.simulator.TraceSink;
+
+/**
+ * ParameterSweep class to simulate every point of the cartesian
+ * product of ranges of the ten simulation inputs, in parallel.
+ *
+ * <p>The points are numbered in row-major order, with the greedy
+ * probability varying fastest. They are split recursively over a
+ * ForkJoinPool, so idle workers steal the remaining halves of
+ * slower workers, and one row is printed per point as soon as it
+ * finishes. Rows therefore come out in completion order and start
+ * with the point number.
+ *
+ * <p>Usage: {@code java cs2030.simulator.ParameterSweep seed servers selfChecks
+ * qLength customers arrRate serveRate restRate restProb greedy [--threads=n] [--analytic]
+ * [options]}, where each input is a value "v", a list "a,b,c" or a range "from:to:step".
+ * With --analytic, the points MarkovEvaluator supports and solves in
+ * time are evaluated exactly instead of simulated.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ParameterSweep {
+    private static final int INPUTS = 10;
+    private final SweepRange[] ranges;
+    private final long size;
+
+    /**
+     * Nested class to simulate a block of points of a
+     * ParameterSweep, splitting it in halves while it holds more
+     * than one point.
+     */
+    private static class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ParameterSweep sweep;
+        private final long from;
+        private final long to;
+        private final RunOptions options;
+        private final boolean analytic;
+        private final PrintStream rows;
+
+        /**
+         * Constructs a SweepTask.
+         *
+         * @param sweep ParameterSweep the points belong to.
+         * @param from Number of the first point, inclusive.
+         * @param to Number of the last point, exclusive.
+         * @param options RunOptions for every point.
+         * @param analytic Indicator to determine if Markovian points are evaluated exactly.
+         * @param rows PrintStream for the result rows.
+         */
+        SweepTask(ParameterSweep sweep, long from, long to, RunOptions options,
+                  boolean analytic, PrintStream rows) {
+            this.sweep = sweep;
+            this.from = from;
+            this.to = to;
+            this.options = options;
+            this.analytic = analytic;
+            this.rows = rows;
+        }
+
+        /**
+         * Simulates the block of points.
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                Scenario scenario = this.sweep.scenarioAt(this.from);
+                AnalyticResult exact = this.analytic && scenario.isMarkovian()
+                    ? scenario.evaluate()
+                    : null;
+                if (exact != null) {
+                    this.rows.println(this.from + " " + scenario + " " +
+                            exact.toStatisticsString(scenario.getCustomerNum()) + " exact");
+                    return;
+                }
+                Statistics statistics = scenario.run(this.options,
+                        ReplicationRunner.discardOutput());
+                this.rows.println(this.from + " " + scenario + " " + statistics);
+            } else {
+                long mid = (this.from + this.to) >>> 1;
+                RecursiveAction.invokeAll(
+                        new SweepTask(this.sweep, this.from, mid, this.options, this.analytic,
+                                this.rows),
+                        new SweepTask(this.sweep, mid, this.to, this.options, this.analytic,
+                                this.rows));
+            }
+        }
+    }
+
+    /**
+     * Constructs a ParameterSweep.
+     *
+     * @param ranges The ranges of the ten simulation inputs.
+     */
+    private ParameterSweep(SweepRange[] ranges) {
+        this.ranges = ranges;
+        long product = 1;
+        for (SweepRange range : ranges) {
+            product = Math.multiplyExact(product, range.size());
+        }
+        this.size = product;
+    }
+
+    /**
+     * Creates a ParameterSweep over ranges of the ten simulation
+     * inputs, in the order Main reads them.
+     *
+     * @param ranges The ranges of the ten simulation inputs.
+     * @return New ParameterSweep.
+     */
+    public static ParameterSweep createSweep(SweepRange... ranges) {
+        if (ranges.length != ParameterSweep.INPUTS) {
+            throw new IllegalArgumentException("Expected " + ParameterSweep.INPUTS +
+                    " ranges but got " + ranges.length);
+        }
+        return new ParameterSweep(ranges.clone());
+    }
+
+    /**
+     * Parses the ranges and options of a ParameterSweep and prints
+     * one row per point to standard output.
+     *
+     * @param args Ten range specifications, followed by optional flags.
+     */
+    public static void main(String[] args) {
+        List<SweepRange> ranges = new ArrayList<>();
+        List<String> flags = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean analytic = false;
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.equals("--analytic")) {
+                analytic = true;
+            } else if (arg.startsWith("--")) {
+                flags.add(arg);
+            } else {
+                ranges.add(SweepRange.parseRange(arg));
+            }
+        }
+        ParameterSweep sweep = ParameterSweep.createSweep(
+                ranges.toArray(new SweepRange[0]));
+        sweep.run(RunOptions.parseOptions(flags.toArray(new String[0])), threads, analytic,
+                System.out);
+    }
+
+    /**
+     * Returns the number of points in this ParameterSweep.
+     *
+     * @return Number of points.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the Scenario at a point of this ParameterSweep.
+     *
+     * @param index Number of the point.
+     * @return Scenario at the point.
+     */
+    public Scenario scenarioAt(long index) {
+        int[] position = new int[ParameterSweep.INPUTS];
+        long rest = index;
+        for (int i = ParameterSweep.INPUTS - 1; i >= 0; i--) {
+            int radix = this.ranges[i].size();
+            position[i] = (int) (rest % radix);
+            rest /= radix;
+        }
+        SweepRange[] r = this.ranges;
+        return Scenario.createScenario(r[0].getInt(position[0]), r[1].getInt(position[1]),
+                r[2].getInt(position[2]), r[3].getInt(position[3]), r[4].getInt(position[4]),
+                r[5].get(position[5]), r[6].get(position[6]), r[7].get(position[7]),
+                r[8].get(position[8]), r[9].get(position[9]));
+    }
+
+    /**
+     * Simulates every point of this ParameterSweep in parallel,
+     * printing a row of the point number, the ten inputs and the
+     * Statistics as each point finishes. The traces of the
+     * points are not recorded.
+     *
+     * @param options RunOptions for every point.
+     * @param threads Number of threads to simulate on.
+     * @param rows PrintStream for the result rows.
+     */
+    public void run(RunOptions options, int threads, PrintStream rows) {
+        this.run(options, threads, false, rows);
+    }
+
+    /**
+     * Simulates every point of this ParameterSweep in parallel like
+     * run, except that the points MarkovEvaluator supports are
+     * evaluated exactly if asked to. Their rows hold the steady-state
+     * waiting time and the expected numbers of Customers served and
+     * left, and end in "exact".
+     *
+     * @param options RunOptions for every simulated point.
+     * @param threads Number of threads to simulate on.
+     * @param analytic Indicator to determine if Markovian points are evaluated exactly.
+     * @param rows PrintStream for the result rows.
+     */
+    public void run(RunOptions options, int threads, boolean analytic, PrintStream rows) {
+        if (this.size == 0) {
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            pool.invoke(new SweepTask(this, 0, this.size, options.withTraceType(TraceSink.NONE),
+                    analytic, rows));
+        } finally {
+            pool.shutdown();
+        }
+        rows.flush();
+    }
+}
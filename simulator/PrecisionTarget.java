@@ -0,0 +1,160 @@
+package cs2030.simulator;
+
+/**
+ * PrecisionTarget class to store how precise an estimate must be
+ * before a simulation, or a set of replications, may stop: the
+ * measure, the relative half-width of its 95% confidence interval,
+ * the number of Customers per batch within a run and the least
+ * number of batches or replications to base the interval on.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class PrecisionTarget {
+    public static final int WAIT_TIME = 0;
+    public static final int LEFT_SHARE = 1;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MIN_SAMPLES = 10;
+    private final int measure;
+    private final double relativeHalfWidth;
+    private final int batchSize;
+    private final int minSamples;
+
+    /**
+     * Constructs a PrecisionTarget.
+     *
+     * @param measure One of the PrecisionTarget measure constants.
+     * @param relativeHalfWidth Largest half-width allowed, relative to the mean.
+     * @param batchSize Number of Customers per batch within a run.
+     * @param minSamples Least number of batches or replications.
+     */
+    private PrecisionTarget(int measure, double relativeHalfWidth, int batchSize,
+                            int minSamples) {
+        this.measure = measure;
+        this.relativeHalfWidth = relativeHalfWidth;
+        this.batchSize = batchSize;
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Creates a PrecisionTarget with the default batch size and
+     * least number of samples.
+     *
+     * @param measure One of the PrecisionTarget measure constants.
+     * @param relativeHalfWidth Largest half-width allowed, relative to the mean.
+     * @return New PrecisionTarget.
+     */
+    public static PrecisionTarget createTarget(int measure, double relativeHalfWidth) {
+        return PrecisionTarget.createTarget(measure, relativeHalfWidth,
+                PrecisionTarget.DEFAULT_BATCH_SIZE, PrecisionTarget.DEFAULT_MIN_SAMPLES);
+    }
+
+    /**
+     * Creates a PrecisionTarget.
+     *
+     * @param measure One of the PrecisionTarget measure constants.
+     * @param relativeHalfWidth Largest half-width allowed, relative to the mean.
+     * @param batchSize Number of Customers per batch within a run.
+     * @param minSamples Least number of batches or replications, at least 2.
+     * @return New PrecisionTarget.
+     */
+    public static PrecisionTarget createTarget(int measure, double relativeHalfWidth,
+                                               int batchSize, int minSamples) {
+        if (measure != PrecisionTarget.WAIT_TIME && measure != PrecisionTarget.LEFT_SHARE) {
+            throw new IllegalArgumentException("Unknown measure: " + measure);
+        } else if (!(relativeHalfWidth > 0) || batchSize < 1 || minSamples < 2) {
+            throw new IllegalArgumentException("Invalid precision target");
+        }
+        return new PrecisionTarget(measure, relativeHalfWidth, batchSize, minSamples);
+    }
+
+    /**
+     * Creates a PrecisionTarget from a String of the form
+     * "measure:relativeHalfWidth[:batchSize[:minSamples]]", where
+     * the measure is "wait" or "left".
+     *
+     * @param spec String describing the PrecisionTarget.
+     * @return New PrecisionTarget based on the String.
+     */
+    public static PrecisionTarget parseTarget(String spec) {
+        String[] parts = spec.split(":");
+        int measure;
+        if (parts[0].equals("wait")) {
+            measure = PrecisionTarget.WAIT_TIME;
+        } else if (parts[0].equals("left")) {
+            measure = PrecisionTarget.LEFT_SHARE;
+        } else {
+            throw new IllegalArgumentException("Unknown measure: " + parts[0]);
+        }
+        if (parts.length < 2 || parts.length > 4) {
+            throw new IllegalArgumentException("Invalid precision target: " + spec);
+        }
+        int batchSize = parts.length > 2 ? Integer.parseInt(parts[2])
+            : PrecisionTarget.DEFAULT_BATCH_SIZE;
+        int minSamples = parts.length > 3 ? Integer.parseInt(parts[3])
+            : PrecisionTarget.DEFAULT_MIN_SAMPLES;
+        return PrecisionTarget.createTarget(measure, Double.parseDouble(parts[1]), batchSize,
+                minSamples);
+    }
+
+    /**
+     * Returns the measure of this PrecisionTarget.
+     *
+     * @return One of the PrecisionTarget measure constants.
+     */
+    public int getMeasure() {
+        return this.measure;
+    }
+
+    /**
+     * Returns the largest half-width allowed, relative to the mean.
+     *
+     * @return Relative half-width.
+     */
+    public double getRelativeHalfWidth() {
+        return this.relativeHalfWidth;
+    }
+
+    /**
+     * Returns the number of Customers per batch within a run.
+     *
+     * @return Batch size.
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Returns the least number of batches or replications.
+     *
+     * @return Least number of samples.
+     */
+    public int getMinSamples() {
+        return this.minSamples;
+    }
+
+    /**
+     * Returns a boolean value indicating if a sample meets this
+     * PrecisionTarget. A relative half-width means nothing around a
+     * mean of 0, so a sample whose mean is 0, such as one in which no
+     * Customer has left yet, never meets it.
+     *
+     * @param sample SampleStatistics of the batches or replications.
+     * @return Boolean value indicating if the sample meets this PrecisionTarget.
+     */
+    public boolean isMetBy(SampleStatistics sample) {
+        return sample.getCount() >= this.minSamples && sample.getMean() != 0 &&
+            sample.getHalfWidth() <= this.relativeHalfWidth * Math.abs(sample.getMean());
+    }
+
+    /**
+     * Returns a String of the form this PrecisionTarget is parsed from.
+     *
+     * @return String based on this PrecisionTarget.
+     */
+    @Override
+    public String toString() {
+        return (this.measure == PrecisionTarget.WAIT_TIME ? "wait" : "left") + ":" +
+            this.relativeHalfWidth + ":" + this.batchSize + ":" + this.minSamples;
+    }
+}
@@ -0,0 +1,61 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+import cs2030.simulator.Event;
+import cs2030.simulator.TraceSink;
+
+/**
+ * PrintTraceSink class to print every trace line to a PrintStream
+ * as soon as it is recorded.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class PrintTraceSink implements TraceSink {
+    private final PrintStream out;
+
+    /**
+     * Constructs a PrintTraceSink.
+     *
+     * @param out PrintStream for the trace.
+     */
+    private PrintTraceSink(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a PrintTraceSink.
+     *
+     * @param out PrintStream for the trace.
+     * @return New PrintTraceSink.
+     */
+    public static PrintTraceSink createTraceSink(PrintStream out) {
+        return new PrintTraceSink(out);
+    }
+
+    /**
+     * Prints the trace line of an Event.
+     *
+     * @param event Event to record.
+     */
+    @Override
+    public void trace(Event event) {
+        this.out.println(event);
+    }
+
+    /**
+     * Flushes the PrintStream.
+     */
+    @Override
+    public void flush() {
+        this.out.flush();
+    }
+
+    /**
+     * Flushes the PrintStream.
+     */
+    @Override
+    public void close() {
+        this.flush();
+    }
+}
@@ -0,0 +1,99 @@
+package cs2030.simulator;
+
+/**
+ * QueueLengthTree class to store a tournament tree over the queue
+ * lengths of a fixed number of slots. Every internal node keeps the
+ * slot with the shorter queue of its two children, preferring the
+ * lower slot on ties, so the root is the lowest slot with the
+ * shortest queue. Changing a length replays the matches on its path
+ * to the root in O(log n).
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class QueueLengthTree {
+    private final int leafStart;
+    private final int[] lengths;
+    private final int[] winners;
+
+    /**
+     * Constructs a QueueLengthTree.
+     *
+     * @param slots Number of slots.
+     */
+    private QueueLengthTree(int slots) {
+        int leaves = 1;
+        while (leaves < slots) {
+            leaves <<= 1;
+        }
+        this.leafStart = leaves;
+        this.lengths = new int[leaves];
+        this.winners = new int[2 * leaves];
+        for (int i = 0; i < leaves; i++) {
+            this.lengths[i] = i < slots ? 0 : Integer.MAX_VALUE;
+            this.winners[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            this.winners[node] = this.play(this.winners[2 * node], this.winners[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Creates a QueueLengthTree with every queue empty.
+     *
+     * @param slots Number of slots.
+     * @return New QueueLengthTree.
+     */
+    public static QueueLengthTree createQueueLengthTree(int slots) {
+        return new QueueLengthTree(Math.max(1, slots));
+    }
+
+    /**
+     * Returns the slot with the shorter queue, or the lower slot
+     * if both queues are of the same length.
+     *
+     * @param a The first slot.
+     * @param b The second slot.
+     * @return Winning slot.
+     */
+    private int play(int a, int b) {
+        return this.lengths[b] < this.lengths[a] ? b : a;
+    }
+
+    /**
+     * Sets the queue length of a slot.
+     *
+     * @param slot Slot to change.
+     * @param length New queue length.
+     */
+    public void setLength(int slot, int length) {
+        if (this.lengths[slot] == length) {
+            return;
+        }
+        this.lengths[slot] = length;
+        int node = (this.leafStart + slot) >>> 1;
+        while (node >= 1) {
+            this.winners[node] = this.play(this.winners[2 * node], this.winners[2 * node + 1]);
+            node >>>= 1;
+        }
+    }
+
+    /**
+     * Returns the lowest slot with the shortest queue.
+     *
+     * @return Lowest slot with the shortest queue.
+     */
+    public int shortest() {
+        return this.winners[1];
+    }
+
+    /**
+     * Returns the queue length of a slot.
+     *
+     * @param slot Slot to check.
+     * @return Queue length of the slot.
+     */
+    public int getLength(int slot) {
+        return this.lengths[slot];
+    }
+}
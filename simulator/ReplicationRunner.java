@@ -0,0 +1,226 @@
+package cs2030.simulator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import cs2030.simulator.PrecisionTarget;
+import cs2030.simulator.ReplicationSummary;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.SampleStatistics;
+import cs2030.simulator.Scenario;
+import cs2030.simulator.StreamingStatistics;
+import cs2030.simulator.TraceSink;
+import cs2030.simulator.VariateGenerator;
+
+/**
+ * ReplicationRunner class to execute independent replications of
+ * a Scenario on every core and summarise their Statistics.
+ *
+ * <p>Replication r runs with a seed derived from the Scenario seed
+ * and r alone, and the results are merged in replication order
+ * once all have finished. The summary is therefore the same for
+ * any number of threads.
+ *
+ * <p>Usage: {@code java cs2030.simulator.ReplicationRunner replications [threads [target]]},
+ * with the ten values Main reads on standard input. With a target
+ * such as {@code wait:0.05}, replications stop once the 95%
+ * confidence interval of the measure is within 5% of its mean.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ReplicationRunner {
+
+    /**
+     * Reads a Scenario from standard input and prints the summary
+     * of its replications.
+     *
+     * @param args Number of replications, then optionally threads and a PrecisionTarget.
+     */
+    public static void main(String[] args) {
+        int replications = Integer.parseInt(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+            : Runtime.getRuntime().availableProcessors();
+        Scanner sc = new Scanner(System.in);
+        Scenario scenario = Scenario.readScenario(sc);
+        sc.close();
+        RunOptions options = RunOptions.createRunOptions();
+        if (args.length > 2) {
+            PrecisionTarget target = PrecisionTarget.parseTarget(args[2]);
+            System.out.println(ReplicationRunner.replicateUntil(scenario, target, replications,
+                    threads, options));
+        } else {
+            System.out.println(ReplicationRunner.replicate(scenario, replications, threads,
+                    options));
+        }
+    }
+
+    /**
+     * Executes independent replications of a Scenario in parallel.
+     *
+     * @param scenario Scenario to replicate, whose seed is the base seed.
+     * @param replications Number of replications.
+     * @param threads Number of threads to execute them on.
+     * @param options RunOptions for every replication.
+     * @return ReplicationSummary of the replications.
+     */
+    public static ReplicationSummary replicate(Scenario scenario, int replications,
+                                               int threads, RunOptions options) {
+        StreamingStatistics[] results = ReplicationRunner.runReplications(scenario, 0,
+                replications, threads, options);
+        ReplicationSummary summary = ReplicationSummary.createSummary();
+        for (StreamingStatistics statistics : results) {
+            summary.add(statistics);
+        }
+        return summary;
+    }
+
+    /**
+     * Executes antithetic pairs of replications of a Scenario in
+     * parallel, with KeyedVariates. The second replication of a pair
+     * has the same seed as the first but draws 1 - u wherever the
+     * first draws u, and each pair is added as one observation.
+     *
+     * @param scenario Scenario to replicate, whose seed is the base seed.
+     * @param pairs Number of pairs.
+     * @param threads Number of threads to execute them on.
+     * @param options RunOptions for every replication.
+     * @return ReplicationSummary of the pairs.
+     */
+    public static ReplicationSummary replicateAntithetic(Scenario scenario, int pairs,
+                                                         int threads, RunOptions options) {
+        RunOptions keyed = options.withRandomMode(VariateGenerator.KEYED);
+        StreamingStatistics[] first = ReplicationRunner.runReplications(scenario, 0, pairs,
+                threads, keyed.withAntithetic(false));
+        StreamingStatistics[] second = ReplicationRunner.runReplications(scenario, 0, pairs,
+                threads, keyed.withAntithetic(true));
+        ReplicationSummary summary = ReplicationSummary.createSummary();
+        for (int i = 0; i < pairs; i++) {
+            summary.addPair(first[i], second[i]);
+        }
+        return summary;
+    }
+
+    /**
+     * Executes replications of two Scenarios in parallel with
+     * common random numbers: replication r of both draws from
+     * KeyedVariates with the same seed, derived from the seed of the
+     * first Scenario, so the Customers of both arrive at the same
+     * times and demand the same service times.
+     *
+     * @param first Scenario to compare against, whose seed is the base seed.
+     * @param second Scenario to compare, such as one with another Server.
+     * @param replications Number of replications of each.
+     * @param threads Number of threads to execute them on.
+     * @param options RunOptions for every replication.
+     * @return SampleStatistics of the second average waiting time minus the first.
+     */
+    public static SampleStatistics compare(Scenario first, Scenario second, int replications,
+                                           int threads, RunOptions options) {
+        RunOptions keyed = options.withRandomMode(VariateGenerator.KEYED);
+        StreamingStatistics[] base = ReplicationRunner.runReplications(first, 0, replications,
+                threads, keyed);
+        StreamingStatistics[] other = ReplicationRunner.runReplications(
+                second.withSeed(first.getSeed()), 0, replications, threads, keyed);
+        SampleStatistics differences = SampleStatistics.createSampleStatistics();
+        for (int i = 0; i < replications; i++) {
+            differences.add(other[i].getAverageWaitTime() - base[i].getAverageWaitTime());
+        }
+        return differences;
+    }
+
+    /**
+     * Executes replications of a Scenario in parallel until the
+     * estimate of a measure over the replications meets a
+     * PrecisionTarget, or a largest number of replications is reached.
+     * They are run in rounds of one replication per thread, and
+     * added in replication order, stopping at the first replication
+     * that meets the target; any later ones of its round are dropped,
+     * so the summary is the same for any number of threads.
+     *
+     * @param scenario Scenario to replicate, whose seed is the base seed.
+     * @param target PrecisionTarget of the measure over the replications.
+     * @param maxReplications Largest number of replications.
+     * @param threads Number of threads to execute them on.
+     * @param options RunOptions for every replication.
+     * @return ReplicationSummary of the replications up to the one meeting the target.
+     */
+    public static ReplicationSummary replicateUntil(Scenario scenario, PrecisionTarget target,
+                                                    int maxReplications, int threads,
+                                                    RunOptions options) {
+        ReplicationSummary summary = ReplicationSummary.createSummary();
+        int round = Math.max(1, threads);
+        int done = 0;
+        while (done < maxReplications) {
+            int count = Math.min(round, maxReplications - done);
+            StreamingStatistics[] results = ReplicationRunner.runReplications(scenario, done,
+                    count, threads, options);
+            done += count;
+            for (StreamingStatistics statistics : results) {
+                summary.add(statistics);
+                if (target.isMetBy(summary.getSample(target.getMeasure()))) {
+                    return summary;
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Executes a range of replications of a Scenario in parallel,
+     * without recording their traces.
+     *
+     * @param scenario Scenario to replicate, whose seed is the base seed.
+     * @param first Number of the first replication.
+     * @param count Number of replications.
+     * @param threads Number of threads to execute them on.
+     * @param options RunOptions for every replication.
+     * @return StreamingStatistics of the replications, in replication order.
+     */
+    public static StreamingStatistics[] runReplications(Scenario scenario, int first, int count,
+                                                        int threads, RunOptions options) {
+        StreamingStatistics[] results = new StreamingStatistics[count];
+        RunOptions statsOnly = options.withTraceType(TraceSink.NONE);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(i -> {
+                Scenario replication = scenario.withSeed(
+                        ReplicationRunner.replicationSeed(scenario.getSeed(), first + i));
+                results[i] = replication.runStreaming(statsOnly,
+                        ReplicationRunner.discardOutput());
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Derives the seed of a replication by mixing the base seed
+     * and the replication number (SplitMix64 finaliser), so that
+     * replications do not share the neighbouring seeds that the
+     * RandomGenerator uses for its separate streams.
+     *
+     * @param baseSeed The Scenario seed.
+     * @param replication Number of the replication.
+     * @return Seed of the replication.
+     */
+    public static int replicationSeed(int baseSeed, int replication) {
+        long z = ((long) baseSeed << 32) + replication + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (int) (z >>> 33);
+    }
+
+    /**
+     * Returns a PrintStream that discards everything printed to it.
+     *
+     * @return PrintStream discarding its output.
+     */
+    static PrintStream discardOutput() {
+        return new PrintStream(OutputStream.nullOutputStream());
+    }
+}
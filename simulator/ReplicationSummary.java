@@ -0,0 +1,179 @@
+package cs2030.simulator;
+
+import cs2030.simulator.PrecisionTarget;
+import cs2030.simulator.SampleStatistics;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.StreamingStatistics;
+
+/**
+ * ReplicationSummary class to merge the Statistics of independent
+ * replications into the mean, variance and 95% confidence interval
+ * of the average waiting time, the number of Customers served and
+ * the number of Customers who left. The StreamingStatistics of
+ * the replications are also merged, for the percentiles of the
+ * waiting times of every Customer served in any replication.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ReplicationSummary {
+    private final SampleStatistics waitTime;
+    private final SampleStatistics served;
+    private final SampleStatistics left;
+    private final SampleStatistics leftShare;
+    private final StreamingStatistics pooled;
+
+    /**
+     * Constructs a ReplicationSummary.
+     */
+    private ReplicationSummary() {
+        this.waitTime = SampleStatistics.createSampleStatistics();
+        this.served = SampleStatistics.createSampleStatistics();
+        this.left = SampleStatistics.createSampleStatistics();
+        this.leftShare = SampleStatistics.createSampleStatistics();
+        this.pooled = StreamingStatistics.createStreamingStatistics(0);
+    }
+
+    /**
+     * Creates an empty ReplicationSummary.
+     *
+     * @return New ReplicationSummary.
+     */
+    public static ReplicationSummary createSummary() {
+        return new ReplicationSummary();
+    }
+
+    /**
+     * Adds the Statistics of one replication.
+     *
+     * @param statistics Statistics of the replication.
+     */
+    public void add(Statistics statistics) {
+        this.waitTime.add(statistics.getAverageWaitTime());
+        this.served.add(statistics.getServed());
+        this.left.add(statistics.getLeft());
+        this.leftShare.add(ReplicationSummary.leftShare(statistics));
+    }
+
+    /**
+     * Adds the StreamingStatistics of one replication, merging its
+     * waiting times into those of the earlier replications.
+     *
+     * @param statistics StreamingStatistics of the replication.
+     */
+    public void add(StreamingStatistics statistics) {
+        this.add(statistics.getStatistics());
+        this.pooled.merge(statistics);
+    }
+
+    /**
+     * Adds the StreamingStatistics of an antithetic pair of
+     * replications as one observation, the average of the two.
+     * Their waiting times are merged into the earlier ones.
+     *
+     * @param first StreamingStatistics of the ordinary replication.
+     * @param second StreamingStatistics of its antithetic replication.
+     */
+    public void addPair(StreamingStatistics first, StreamingStatistics second) {
+        Statistics a = first.getStatistics();
+        Statistics b = second.getStatistics();
+        this.waitTime.add((a.getAverageWaitTime() + b.getAverageWaitTime()) / 2);
+        this.served.add((a.getServed() + b.getServed()) / 2.0);
+        this.left.add((a.getLeft() + b.getLeft()) / 2.0);
+        this.leftShare.add((ReplicationSummary.leftShare(a) +
+                ReplicationSummary.leftShare(b)) / 2);
+        this.pooled.merge(first);
+        this.pooled.merge(second);
+    }
+
+    /**
+     * Returns the share of Customers who left in one replication.
+     *
+     * @param statistics Statistics of the replication.
+     * @return Fraction of the Customers who left, or 0 if there were none.
+     */
+    private static double leftShare(Statistics statistics) {
+        int size = statistics.getServed() + statistics.getLeft();
+        return size == 0 ? 0.0 : statistics.getLeft() / (double) size;
+    }
+
+    /**
+     * Returns the number of replications, or antithetic pairs, added.
+     *
+     * @return Number of replications.
+     */
+    public long getReplications() {
+        return this.waitTime.getCount();
+    }
+
+    /**
+     * Returns the sample of average waiting times.
+     *
+     * @return SampleStatistics of the average waiting times.
+     */
+    public SampleStatistics getWaitTime() {
+        return this.waitTime;
+    }
+
+    /**
+     * Returns the sample of the numbers of Customers served.
+     *
+     * @return SampleStatistics of the numbers of Customers served.
+     */
+    public SampleStatistics getServed() {
+        return this.served;
+    }
+
+    /**
+     * Returns the sample of the numbers of Customers who left.
+     *
+     * @return SampleStatistics of the numbers of Customers who left.
+     */
+    public SampleStatistics getLeft() {
+        return this.left;
+    }
+
+    /**
+     * Returns the sample of the shares of Customers who left.
+     *
+     * @return SampleStatistics of the shares of Customers who left.
+     */
+    public SampleStatistics getLeftShare() {
+        return this.leftShare;
+    }
+
+    /**
+     * Returns the sample of a PrecisionTarget measure.
+     *
+     * @param measure One of the PrecisionTarget measure constants.
+     * @return SampleStatistics of the average waiting times or the shares who left.
+     */
+    public SampleStatistics getSample(int measure) {
+        return measure == PrecisionTarget.LEFT_SHARE ? this.leftShare : this.waitTime;
+    }
+
+    /**
+     * Returns the merged StreamingStatistics of the replications
+     * added as StreamingStatistics.
+     *
+     * @return Merged StreamingStatistics.
+     */
+    public StreamingStatistics getPooled() {
+        return this.pooled;
+    }
+
+    /**
+     * Returns a String with one line per measure.
+     *
+     * @return String based on this ReplicationSummary.
+     */
+    @Override
+    public String toString() {
+        return "replications " + this.getReplications() + "\n" +
+            "wait   " + this.waitTime + "\n" +
+            "served " + this.served + "\n" +
+            "left   " + this.left +
+            (this.pooled.getWaitTimes().getCount() == 0 ? ""
+                : "\npooled " + this.pooled.percentiles());
+    }
+}
@@ -0,0 +1,943 @@
+package cs2030.simulator;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Scenario;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.TraceSink;
+
+/**
+ * ResultCache class to save the printed output and Statistics of
+ * simulation runs, so that a run asked for again is printed from
+ * the cache instead of simulated.
+ *
+ * <p>A run is fully determined by its Scenario, the RunOptions that
+ * change the simulated output and the simulator itself, so its key
+ * is the canonical String of these, starting with SIMULATOR_VERSION,
+ * which must be raised whenever a change to the simulator changes
+ * its output. Runs that save a trace file are not cached.
+ *
+ * <p>The cache has two tiers. Recently used runs are kept in memory,
+ * least recently used first out, up to a number of bytes. Every run
+ * is also saved in a directory with two files:
+ * <ul>
+ * <li>an append-only data file of records, each holding the key,
+ * the Statistics and the output, deflated if that makes it
+ * smaller;</li>
+ * <li>a memory-mapped index file, an open-addressing hash table of
+ * the 64-bit hashes of the keys and the offsets of their records,
+ * together with how much of the data file it covers.</li>
+ * </ul>
+ * A lookup probes the index and reads a single record, whose key is
+ * compared in full. Records appended after the index was last written,
+ * such as by a run that stopped before updating it, are indexed when
+ * the cache is opened, and a record cut short or garbled is dropped
+ * with everything after it. Processes sharing a cache directory take
+ * a shared lock on the data file to look runs up, and an exclusive
+ * one to open the cache or save a run, so their records never
+ * interleave. Within a process, a directory is opened once, through
+ * forDirectory.
+ *
+ * <p>While a run is simulated, its output is deflated into a temporary
+ * file in the directory, and copied in memory only while it fits the
+ * memory tier, so a long trace is never held in memory whole. An
+ * output too large for the memory tier is inflated from the data file
+ * a chunk at a time as it is printed.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ResultCache {
+    public static final String SIMULATOR_VERSION = "3.4.1";
+    public static final int MAGIC = 0x44455352;
+    public static final int VERSION = 1;
+    public static final String INDEX_FILE = "results.idx";
+    public static final String DATA_FILE = "results.dat";
+    public static final long DEFAULT_MEMORY_BYTES = 64L << 20;
+    public static final int MAX_OUTPUT_BYTES = Integer.MAX_VALUE;
+    private static final int INDEX_HEADER_BYTES = 24;
+    private static final int DATA_HEADER_BYTES = 8;
+    private static final int SLOT_BYTES = 16;
+    private static final int RECORD_FIELD_BYTES = 24;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int CHUNK_BYTES = 1 << 16;
+    private static final Map<Path, ResultCache> OPEN_CACHES = new HashMap<>();
+    private final Path directory;
+    private final FileChannel index;
+    private final FileChannel data;
+    private final LinkedHashMap<String, Entry> recent;
+    private final long memoryBytes;
+    private MappedByteBuffer indexMap;
+    private int capacity;
+    private int count;
+    private long recentBytes;
+
+    /**
+     * Entry class to store the Statistics of a run with its printed
+     * output, or where that is stored in the data file if it is too
+     * large to be kept in memory.
+     */
+    private static class Entry {
+        private final Statistics statistics;
+        private final byte[] output;
+        private final long position;
+        private final int storedLength;
+        private final int outputLength;
+
+        /**
+         * Constructs an Entry.
+         *
+         * @param statistics Statistics of the run.
+         * @param output Bytes printed by the run, or null if they are only stored.
+         * @param position Position of the stored output in the data file, or -1.
+         * @param storedLength Number of bytes stored, equal to outputLength if not deflated.
+         * @param outputLength Number of bytes printed by the run.
+         */
+        private Entry(Statistics statistics, byte[] output, long position, int storedLength,
+                      int outputLength) {
+            this.statistics = statistics;
+            this.output = output;
+            this.position = position;
+            this.storedLength = storedLength;
+            this.outputLength = outputLength;
+        }
+    }
+
+    /**
+     * CaptureStream class to pass output on to a PrintStream while
+     * deflating it into a temporary file, and keeping a copy of it in
+     * memory while it has at most a given number of bytes.
+     */
+    private static class CaptureStream extends OutputStream {
+        private final PrintStream target;
+        private final long memoryBytes;
+        private final Deflater deflater;
+        private final OutputStream spill;
+        private ByteArrayOutputStream copy;
+        private long length;
+        private long storedLength;
+        private boolean complete;
+        private boolean finished;
+
+        /**
+         * Constructs a CaptureStream.
+         *
+         * @param target PrintStream the output is passed on to.
+         * @param memoryBytes Largest number of bytes copied in memory.
+         * @param spillFile Path of the temporary file for the deflated output.
+         * @throws IOException If the temporary file cannot be created.
+         */
+        private CaptureStream(PrintStream target, long memoryBytes, Path spillFile)
+                throws IOException {
+            this.target = target;
+            this.memoryBytes = memoryBytes;
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+            this.spill = new DeflaterOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(spillFile)), this.deflater,
+                    ResultCache.CHUNK_BYTES);
+            this.copy = new ByteArrayOutputStream();
+            this.length = 0;
+            this.storedLength = 0;
+            this.complete = true;
+            this.finished = false;
+        }
+
+        /**
+         * Writes a byte.
+         *
+         * @param b Byte to write.
+         */
+        @Override
+        public void write(int b) {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        /**
+         * Writes a range of bytes.
+         *
+         * @param bytes Array holding the bytes.
+         * @param offset Position of the first byte.
+         * @param length Number of bytes.
+         */
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            this.target.write(bytes, offset, length);
+            this.length += length;
+            if (this.length > ResultCache.MAX_OUTPUT_BYTES) {
+                this.complete = false;
+            }
+            if (this.complete) {
+                try {
+                    this.spill.write(bytes, offset, length);
+                } catch (IOException e) {
+                    this.complete = false;
+                }
+            }
+            if (this.copy != null && this.length > this.memoryBytes) {
+                this.copy = null;
+            } else if (this.copy != null) {
+                this.copy.write(bytes, offset, length);
+            }
+        }
+
+        /**
+         * Flushes the PrintStream the output is passed on to.
+         */
+        @Override
+        public void flush() {
+            this.target.flush();
+        }
+
+        /**
+         * Finishes the deflated output and closes the temporary file.
+         * Further calls do nothing.
+         */
+        private void finish() {
+            if (this.finished) {
+                return;
+            }
+            this.finished = true;
+            try {
+                this.spill.close();
+            } catch (IOException e) {
+                this.complete = false;
+            }
+            this.storedLength = this.deflater.getBytesWritten();
+            this.deflater.end();
+        }
+
+        /**
+         * Returns a boolean value indicating if the whole output was
+         * deflated into the temporary file.
+         *
+         * @return Boolean value indicating if the output can be saved.
+         */
+        private boolean isComplete() {
+            return this.complete;
+        }
+
+        /**
+         * Returns the number of bytes written.
+         *
+         * @return Number of bytes of the output.
+         */
+        private long getLength() {
+            return this.length;
+        }
+
+        /**
+         * Returns the number of bytes of the deflated output.
+         *
+         * @return Number of bytes in the temporary file.
+         */
+        private long getStoredLength() {
+            return this.storedLength;
+        }
+
+        /**
+         * Returns the copy of the output.
+         *
+         * @return Bytes written, or null if there were more than memoryBytes.
+         */
+        private byte[] getCopy() {
+            return this.copy == null ? null : this.copy.toByteArray();
+        }
+    }
+
+    /**
+     * Constructs a ResultCache.
+     *
+     * @param directory Path of the cache directory.
+     * @param index FileChannel of the index file.
+     * @param data FileChannel of the data file.
+     * @param memoryBytes Largest number of output bytes kept in memory.
+     */
+    private ResultCache(Path directory, FileChannel index, FileChannel data, long memoryBytes) {
+        this.directory = directory;
+        this.index = index;
+        this.data = data;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true);
+        this.memoryBytes = memoryBytes;
+        this.capacity = 0;
+        this.count = 0;
+        this.recentBytes = 0;
+    }
+
+    /**
+     * Returns the ResultCache of a directory, opening it the first
+     * time it is asked for, so that the runs of a process share its
+     * memory tier.
+     *
+     * @param directory Path of the cache directory.
+     * @return ResultCache of the directory.
+     */
+    public static synchronized ResultCache forDirectory(String directory) {
+        Path path = Paths.get(directory).toAbsolutePath().normalize();
+        ResultCache cache = ResultCache.OPEN_CACHES.get(path);
+        if (cache == null) {
+            cache = ResultCache.open(path, ResultCache.DEFAULT_MEMORY_BYTES);
+            ResultCache.OPEN_CACHES.put(path, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Opens the ResultCache in a directory, creating it if needed.
+     *
+     * @param directory Path of the cache directory.
+     * @param memoryBytes Largest number of output bytes kept in memory.
+     * @return New ResultCache of the directory.
+     */
+    public static ResultCache open(Path directory, long memoryBytes) {
+        try {
+            Files.createDirectories(directory);
+            FileChannel index = FileChannel.open(directory.resolve(ResultCache.INDEX_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            FileChannel data = FileChannel.open(directory.resolve(ResultCache.DATA_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ResultCache cache = new ResultCache(directory, index, data, memoryBytes);
+            FileLock lock = data.lock();
+            try {
+                cache.load();
+            } finally {
+                lock.release();
+            }
+            return cache;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the key of a run: the simulator version, the ten
+     * values of its Scenario and the RunOptions that change its
+     * output, including whether Events are ranked by fixed-point
+     * keys, which may reorder Events less than a tick apart. The
+     * EventQueue type, the ServerTable type, the choice between
+     * object and packed exact keys and the type of a printed trace
+     * are left out, as the runs they choose between print the same
+     * output and can share a key. So is the cache directory itself.
+     *
+     * @param scenario Scenario of the run.
+     * @param options RunOptions of the run.
+     * @return Canonical key of the run.
+     */
+    public static String canonicalKey(Scenario scenario, RunOptions options) {
+        return ResultCache.SIMULATOR_VERSION + "|" + scenario +
+            "|sample " + options.getGreedySampleSize() +
+            "|keys " + (options.getEventKeys() == RunOptions.FIXED_POINT_KEYS) +
+            "|rng " + options.getRandomMode() +
+            "|antithetic " + options.isAntithetic() +
+            "|trace " + (options.getTraceType() != TraceSink.NONE) +
+            "|percentiles " + options.isWaitPercentilesPrinted() +
+            "|metrics " + options.isServerMetricsPrinted() +
+            "|precision " + options.getPrecisionTarget() +
+            "|horizon " + options.getSteadyStateHorizon();
+    }
+
+    /**
+     * Returns a boolean value indicating if runs with the given
+     * RunOptions can be cached, which they cannot if they save a
+     * trace file.
+     *
+     * @param options RunOptions of the run.
+     * @return Boolean value indicating if the run can be cached.
+     */
+    public static boolean isCacheable(RunOptions options) {
+        return options.getTraceFile() == null && options.getTraceType() != TraceSink.BINARY;
+    }
+
+    /**
+     * Prints the output of a run and returns its Statistics, from
+     * the cache if the run is in it, or else by simulating the run
+     * and saving it.
+     *
+     * @param scenario Scenario to run.
+     * @param options RunOptions of the run.
+     * @param out PrintStream for the output of the run.
+     * @return Statistics of the run.
+     */
+    public Statistics run(Scenario scenario, RunOptions options, PrintStream out) {
+        RunOptions uncached = options.withCacheDirectory(null);
+        if (!ResultCache.isCacheable(options)) {
+            return scenario.run(uncached, out);
+        }
+        String key = ResultCache.canonicalKey(scenario, options);
+        try {
+            Entry entry = this.lookup(key);
+            if (entry == null) {
+                return this.capture(key, scenario, uncached, out);
+            }
+            if (entry.output != null) {
+                out.write(entry.output, 0, entry.output.length);
+            } else {
+                this.replay(entry, out);
+            }
+            out.flush();
+            return entry.statistics;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Simulates a run, printing its output while deflating it into
+     * a temporary file, and saves it.
+     *
+     * @param key Canonical key of the run.
+     * @param scenario Scenario to run.
+     * @param options RunOptions of the run, without a cache directory.
+     * @param out PrintStream for the output of the run.
+     * @return Statistics of the run.
+     * @throws IOException If the temporary file cannot be written.
+     */
+    private Statistics capture(String key, Scenario scenario, RunOptions options,
+                               PrintStream out) throws IOException {
+        Path spillFile = Files.createTempFile(this.directory, "run", ".tmp");
+        CaptureStream capture = null;
+        try {
+            capture = new CaptureStream(out, this.memoryBytes, spillFile);
+            PrintStream captured = new PrintStream(capture);
+            Statistics statistics = scenario.run(options, captured);
+            captured.flush();
+            capture.finish();
+            if (capture.isComplete()) {
+                this.store(key, statistics, capture, spillFile);
+            }
+            return statistics;
+        } finally {
+            if (capture != null) {
+                capture.finish();
+            }
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    /**
+     * Returns the number of runs saved in the cache directory.
+     *
+     * @return Number of runs saved.
+     */
+    public synchronized int size() {
+        return this.count;
+    }
+
+    /**
+     * Closes the files of this ResultCache. It may not be used
+     * afterwards.
+     */
+    public synchronized void close() {
+        try {
+            this.indexMap.force();
+            this.index.close();
+            this.data.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Finds a run in memory, or else in the cache directory, in
+     * which case it is also kept in memory.
+     *
+     * @param key Canonical key of the run.
+     * @return Entry of the run, or null if it has not been saved.
+     */
+    private synchronized Entry lookup(String key) {
+        Entry entry = this.recent.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        try {
+            FileLock lock = this.data.lock(0, Long.MAX_VALUE, true);
+            try {
+                this.refresh();
+                entry = this.find(key);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (entry != null && entry.output != null) {
+            this.remember(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Finds a run in the cache directory, whose lock must be held.
+     *
+     * @param key Canonical key of the run.
+     * @return Entry of the run, or null if it has not been saved.
+     * @throws IOException If the files cannot be read.
+     */
+    private Entry find(String key) throws IOException {
+        long hash = ResultCache.hash(key);
+        int mask = this.capacity - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            long slotHash = this.indexMap.getLong(ResultCache.slot(i));
+            if (slotHash == 0) {
+                return null;
+            }
+            if (slotHash == hash) {
+                Entry entry = this.readEntry(this.indexMap.getLong(ResultCache.slot(i) + 8), key);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * Catches up with the index as another process may have left
+     * it, mapping it again if it has grown. The lock of the cache
+     * directory must be held.
+     *
+     * @throws IOException If the index cannot be mapped.
+     */
+    private void refresh() throws IOException {
+        int indexCapacity = this.indexMap.getInt(8);
+        this.count = this.indexMap.getInt(12);
+        if (indexCapacity != this.capacity) {
+            this.capacity = indexCapacity;
+            this.mapIndex();
+        }
+    }
+
+    /**
+     * Saves a run in memory if it fits and appends it to the cache
+     * directory, unless another thread or process has saved it
+     * already. The output is stored as it is if deflating it did not
+     * make it smaller.
+     *
+     * @param key Canonical key of the run.
+     * @param statistics Statistics of the run.
+     * @param capture Finished CaptureStream of the run.
+     * @param spillFile Path of the temporary file holding the deflated output.
+     * @throws IOException If the files cannot be written.
+     */
+    private synchronized void store(String key, Statistics statistics, CaptureStream capture,
+                                    Path spillFile) throws IOException {
+        byte[] copy = capture.getCopy();
+        boolean raw = capture.getStoredLength() >= capture.getLength();
+        if (this.recent.containsKey(key) || raw && copy == null) {
+            return;
+        }
+        int outputLength = (int) capture.getLength();
+        int storedLength = raw ? outputLength : (int) capture.getStoredLength();
+        ByteBuffer header = ResultCache.encode(key, statistics, outputLength, storedLength);
+        FileLock lock = this.data.lock();
+        try {
+            this.refresh();
+            if (this.find(key) == null) {
+                this.append(key, header, raw ? copy : null, spillFile);
+            }
+        } finally {
+            lock.release();
+        }
+        if (copy != null) {
+            this.remember(key, new Entry(statistics, copy, -1, storedLength, outputLength));
+        }
+    }
+
+    /**
+     * Encodes the header of a record of the data file, which the
+     * stored output follows.
+     *
+     * @param key Canonical key of the run.
+     * @param statistics Statistics of the run.
+     * @param outputLength Number of bytes printed by the run.
+     * @param storedLength Number of bytes stored.
+     * @return ByteBuffer holding the header, ready to be written.
+     */
+    private static ByteBuffer encode(String key, Statistics statistics, int outputLength,
+                                     int storedLength) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(4 + keyBytes.length +
+                ResultCache.RECORD_FIELD_BYTES);
+        header.putInt(keyBytes.length);
+        header.put(keyBytes);
+        header.putDouble(statistics.getTotalWaitTime());
+        header.putInt(statistics.getServed());
+        header.putInt(statistics.getServed() + statistics.getLeft());
+        header.putInt(outputLength);
+        header.putInt(storedLength);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Appends a record to the data file and indexes it. The
+     * exclusive lock of the cache directory must be held.
+     *
+     * @param key Canonical key of the record.
+     * @param header ByteBuffer holding the header of the record.
+     * @param output Bytes printed by the run if stored as they are, or null.
+     * @param spillFile Path of the temporary file holding the deflated output.
+     * @throws IOException If the files cannot be written.
+     */
+    private void append(String key, ByteBuffer header, byte[] output, Path spillFile)
+            throws IOException {
+        if (!this.hasRoom()) {
+            this.rebuild(this.capacity * 2);
+        }
+        long offset = this.data.size();
+        long position = ResultCache.write(this.data, header, offset);
+        if (output != null) {
+            position = ResultCache.write(this.data, ByteBuffer.wrap(output), position);
+        } else {
+            try (FileChannel spill = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                long end = position + spill.size();
+                while (position < end) {
+                    long copied = this.data.transferFrom(spill, position, end - position);
+                    if (copied == 0) {
+                        throw new IOException("Could not copy run into result cache");
+                    }
+                    position += copied;
+                }
+            }
+        }
+        this.insert(ResultCache.hash(key), offset);
+        this.indexMap.putLong(16, position);
+    }
+
+    /**
+     * Keeps a run in memory, dropping the least recently used runs
+     * while more than memoryBytes of output are kept.
+     *
+     * @param key Canonical key of the run.
+     * @param entry Entry of the run.
+     */
+    private void remember(String key, Entry entry) {
+        if (entry.output.length > this.memoryBytes) {
+            return;
+        }
+        this.recent.put(key, entry);
+        this.recentBytes += entry.output.length;
+        Iterator<Entry> oldest = this.recent.values().iterator();
+        while (this.recentBytes > this.memoryBytes) {
+            this.recentBytes -= oldest.next().output.length;
+            oldest.remove();
+        }
+    }
+
+    /**
+     * Reads the index, building it again if the file is empty, of
+     * another version or covers more data than there is, writes the
+     * header of a new data file, and indexes any records the index
+     * does not cover yet.
+     *
+     * @throws IOException If the files cannot be read or written, or
+     *     the data file is not a ResultCache data file.
+     */
+    private void load() throws IOException {
+        if (this.data.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(ResultCache.DATA_HEADER_BYTES);
+            header.putInt(ResultCache.MAGIC);
+            header.putInt(ResultCache.VERSION);
+            header.flip();
+            this.data.write(header, 0);
+        }
+        ByteBuffer header = ResultCache.read(this.data, 0, ResultCache.DATA_HEADER_BYTES);
+        if (header.getInt() != ResultCache.MAGIC || header.getInt() != ResultCache.VERSION) {
+            throw new IOException("Not a result cache data file");
+        }
+        ByteBuffer indexHeader = ResultCache.read(this.index, 0,
+                ResultCache.INDEX_HEADER_BYTES);
+        if (indexHeader.limit() == ResultCache.INDEX_HEADER_BYTES &&
+                indexHeader.getInt() == ResultCache.MAGIC &&
+                indexHeader.getInt() == ResultCache.VERSION &&
+                indexHeader.getLong(16) <= this.data.size()) {
+            this.capacity = indexHeader.getInt();
+            this.count = indexHeader.getInt();
+            this.mapIndex();
+            this.indexRecords(indexHeader.getLong());
+        } else {
+            this.rebuild(ResultCache.MIN_CAPACITY);
+        }
+    }
+
+    /**
+     * Maps the index file for the current capacity and writes its
+     * header, other than the offset of the data it covers.
+     *
+     * @throws IOException If the index cannot be mapped.
+     */
+    private void mapIndex() throws IOException {
+        this.indexMap = this.index.map(FileChannel.MapMode.READ_WRITE, 0,
+                ResultCache.slot(this.capacity));
+        this.indexMap.putInt(0, ResultCache.MAGIC);
+        this.indexMap.putInt(4, ResultCache.VERSION);
+        this.indexMap.putInt(8, this.capacity);
+        this.indexMap.putInt(12, this.count);
+    }
+
+    /**
+     * Returns the position of a slot in the index file.
+     *
+     * @param i Number of the slot.
+     * @return Position of the slot.
+     */
+    private static int slot(int i) {
+        return ResultCache.INDEX_HEADER_BYTES + ResultCache.SLOT_BYTES * i;
+    }
+
+    /**
+     * Returns a boolean value indicating if the index stays at most
+     * half full with one more record.
+     *
+     * @return Boolean value indicating if there is room for a record.
+     */
+    private boolean hasRoom() {
+        return 2 * (this.count + 1) <= this.capacity;
+    }
+
+    /**
+     * Empties the index, sizing it for a given capacity, and indexes
+     * every record of the data file again.
+     *
+     * @param newCapacity Number of slots, a power of two.
+     * @throws IOException If the files cannot be read or written.
+     */
+    private void rebuild(int newCapacity) throws IOException {
+        this.capacity = newCapacity;
+        this.count = 0;
+        this.mapIndex();
+        for (int i = 0; i < this.capacity; i++) {
+            this.indexMap.putLong(ResultCache.slot(i), 0);
+        }
+        this.indexRecords(ResultCache.DATA_HEADER_BYTES);
+    }
+
+    /**
+     * Indexes the records of the data file from a given offset on,
+     * cutting off a record that was not written in full.
+     *
+     * @param from Offset of the first record to index.
+     * @throws IOException If the files cannot be read or written.
+     */
+    private void indexRecords(long from) throws IOException {
+        long offset = from;
+        long end = this.data.size();
+        while (offset < end) {
+            ByteBuffer length = ResultCache.read(this.data, offset, 4);
+            if (length.limit() < 4) {
+                break;
+            }
+            int keyLength = length.getInt();
+            if (keyLength < 0 || keyLength > end - offset - 4 - ResultCache.RECORD_FIELD_BYTES) {
+                break;
+            }
+            ByteBuffer fields = ResultCache.read(this.data, offset + 4,
+                    keyLength + ResultCache.RECORD_FIELD_BYTES);
+            byte[] keyBytes = new byte[keyLength];
+            fields.get(keyBytes);
+            fields.position(keyLength + ResultCache.RECORD_FIELD_BYTES - 4);
+            int storedLength = fields.getInt();
+            long next = offset + 4 + keyLength + ResultCache.RECORD_FIELD_BYTES + storedLength;
+            if (storedLength < 0 || next > end) {
+                break;
+            }
+            if (!this.hasRoom()) {
+                this.rebuild(this.capacity * 2);
+                return;
+            }
+            this.insert(ResultCache.hash(new String(keyBytes, StandardCharsets.UTF_8)), offset);
+            offset = next;
+        }
+        if (offset < end) {
+            this.data.truncate(offset);
+        }
+        this.indexMap.putLong(16, offset);
+    }
+
+    /**
+     * Adds the offset of a record to the index, which must have room
+     * for it.
+     *
+     * @param hash Hash of the key of the record.
+     * @param offset Offset of the record in the data file.
+     * @throws IOException If the files cannot be read or written.
+     */
+    private void insert(long hash, long offset) throws IOException {
+        int mask = this.capacity - 1;
+        int i = (int) hash & mask;
+        while (this.indexMap.getLong(ResultCache.slot(i)) != 0) {
+            i = (i + 1) & mask;
+        }
+        this.indexMap.putLong(ResultCache.slot(i) + 8, offset);
+        this.indexMap.putLong(ResultCache.slot(i), hash);
+        this.count++;
+        this.indexMap.putInt(12, this.count);
+    }
+
+    /**
+     * Reads the record at an offset of the data file if it has the
+     * given key, with its output unless that is too large to be kept
+     * in memory.
+     *
+     * @param offset Offset of the record.
+     * @param key Canonical key looked up.
+     * @return Entry of the record, or null if its key is another one.
+     * @throws IOException If the data file cannot be read.
+     */
+    private Entry readEntry(long offset, String key) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer fields = ResultCache.read(this.data, offset,
+                4 + keyBytes.length + ResultCache.RECORD_FIELD_BYTES);
+        if (fields.getInt() != keyBytes.length) {
+            return null;
+        }
+        for (byte b : keyBytes) {
+            if (fields.get() != b) {
+                return null;
+            }
+        }
+        double totalWaitTime = fields.getDouble();
+        int served = fields.getInt();
+        int size = fields.getInt();
+        int outputLength = fields.getInt();
+        int storedLength = fields.getInt();
+        Statistics statistics = Statistics.createStatistics(totalWaitTime, served, size);
+        long position = offset + fields.limit();
+        Entry stored = new Entry(statistics, null, position, storedLength, outputLength);
+        if (outputLength > this.memoryBytes) {
+            return stored;
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream(outputLength);
+        this.replay(stored, output);
+        return new Entry(statistics, output.toByteArray(), position, storedLength, outputLength);
+    }
+
+    /**
+     * Returns the 64-bit hash of a key: the first eight bytes of its
+     * SHA-256 digest, never 0 as that marks an empty slot.
+     *
+     * @param key Canonical key.
+     * @return Hash of the key.
+     */
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = ByteBuffer.wrap(digest).getLong();
+            return hash == 0 ? 1 : hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the stored output of an Entry to an OutputStream a
+     * chunk at a time, inflating it unless it was stored as it is.
+     * Records never move once written, so no lock is needed.
+     *
+     * @param entry Entry whose output is stored in the data file.
+     * @param out OutputStream for the output.
+     * @throws IOException If the data file cannot be read or the record is corrupt.
+     */
+    private void replay(Entry entry, OutputStream out) throws IOException {
+        boolean raw = entry.storedLength == entry.outputLength;
+        Inflater inflater = new Inflater();
+        byte[] buffer = new byte[ResultCache.CHUNK_BYTES];
+        long position = entry.position;
+        long end = position + entry.storedLength;
+        long written = 0;
+        try {
+            while (position < end) {
+                ByteBuffer chunk = ResultCache.read(this.data, position,
+                        (int) Math.min(ResultCache.CHUNK_BYTES, end - position));
+                if (chunk.limit() == 0) {
+                    break;
+                }
+                position += chunk.limit();
+                if (raw) {
+                    out.write(chunk.array(), 0, chunk.limit());
+                    written += chunk.limit();
+                    continue;
+                }
+                inflater.setInput(chunk.array(), 0, chunk.limit());
+                while (!inflater.needsInput() && !inflater.finished()) {
+                    int inflated = inflater.inflate(buffer);
+                    if (inflated == 0 && inflater.needsDictionary()) {
+                        throw new IOException("Corrupt result cache record");
+                    }
+                    out.write(buffer, 0, inflated);
+                    written += inflated;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt result cache record", e);
+        } finally {
+            inflater.end();
+        }
+        if (written != entry.outputLength) {
+            throw new IOException("Result cache record cut short");
+        }
+    }
+
+    /**
+     * Writes a ByteBuffer to a file at a position.
+     *
+     * @param channel FileChannel of the file.
+     * @param buffer ByteBuffer to write.
+     * @param position Position to write at.
+     * @return Position after the bytes written.
+     * @throws IOException If the file cannot be written.
+     */
+    private static long write(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        long end = position + buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, end - buffer.remaining());
+        }
+        return end;
+    }
+
+    /**
+     * Reads a region of a file into a new ByteBuffer.
+     *
+     * @param channel FileChannel of the file.
+     * @param position Position of the region.
+     * @param length Size of the region.
+     * @return ByteBuffer holding what could be read of the region, ready to be read.
+     * @throws IOException If the file cannot be read.
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = channel.read(buffer, position + buffer.position());
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
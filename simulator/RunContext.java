@@ -0,0 +1,196 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+import java.util.function.DoubleSupplier;
+import cs2030.simulator.Event;
+import cs2030.simulator.KeyedVariates;
+import cs2030.simulator.RandomGenerator;
+import cs2030.simulator.VariateGenerator;
+
+/**
+ * RunContext class to store the state owned by a single
+ * simulation run: its random Suppliers and where its output
+ * is printed. Runs with their own RunContext share nothing,
+ * so they can execute on different threads at the same time.
+ * The values are drawn through DoubleSuppliers, so they are not
+ * boxed, or from KeyedVariates by Customer or Server, so that
+ * other configurations draw the same values.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class RunContext {
+    private final DoubleSupplier customerTypeSupp;
+    private final DoubleSupplier interArrivalSupp;
+    private final DoubleSupplier randRestSupp;
+    private final DoubleSupplier restPeriodSupp;
+    private final DoubleSupplier serveTimeSupp;
+    private final KeyedVariates keyed;
+    private final PrintStream out;
+
+    /**
+     * Constructs a RunContext.
+     *
+     * @param customerTypeSupp Supplier deciding if a Customer is greedy.
+     * @param interArrivalSupp Supplier of inter-arrival times.
+     * @param randRestSupp Supplier deciding if a Server rests.
+     * @param restPeriodSupp Supplier of rest periods.
+     * @param serveTimeSupp Supplier of service times.
+     * @param keyed KeyedVariates to draw from by Customer or Server instead, or null.
+     * @param out PrintStream for the output of the run.
+     */
+    private RunContext(DoubleSupplier customerTypeSupp, DoubleSupplier interArrivalSupp,
+                       DoubleSupplier randRestSupp, DoubleSupplier restPeriodSupp,
+                       DoubleSupplier serveTimeSupp, KeyedVariates keyed, PrintStream out) {
+        this.customerTypeSupp = customerTypeSupp;
+        this.interArrivalSupp = interArrivalSupp;
+        this.randRestSupp = randRestSupp;
+        this.restPeriodSupp = restPeriodSupp;
+        this.serveTimeSupp = serveTimeSupp;
+        this.keyed = keyed;
+        this.out = out;
+    }
+
+    /**
+     * Creates a RunContext with its own RandomGenerator.
+     *
+     * @param seed The RandomGenerator seed.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @param rho The resting rate.
+     * @param out PrintStream for the output of the run.
+     * @return New RunContext based on the given seed and rates.
+     */
+    public static RunContext createRunContext(int seed, double lambda, double mu, double rho,
+                                              PrintStream out) {
+        RandomGenerator random = new RandomGenerator(seed, lambda, mu, rho);
+        return new RunContext(random::genCustomerType, random::genInterArrivalTime,
+                random::genRandomRest, random::genRestPeriod, random::genServiceTime, null, out);
+    }
+
+    /**
+     * Creates a RunContext with its own RandomGenerator or
+     * VariateGenerator.
+     *
+     * @param seed The seed.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @param rho The resting rate.
+     * @param mode One of the VariateGenerator mode constants.
+     * @param out PrintStream for the output of the run.
+     * @return New RunContext based on the given seed and rates.
+     */
+    public static RunContext createRunContext(int seed, double lambda, double mu, double rho,
+                                              int mode, PrintStream out) {
+        return RunContext.createRunContext(seed, lambda, mu, rho, mode, false, out);
+    }
+
+    /**
+     * Creates a RunContext with its own RandomGenerator,
+     * VariateGenerator or KeyedVariates. Only KeyedVariates can
+     * draw antithetic values.
+     *
+     * @param seed The seed.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @param rho The resting rate.
+     * @param mode One of the VariateGenerator mode constants.
+     * @param antithetic Indicator to determine if antithetic values are drawn.
+     * @param out PrintStream for the output of the run.
+     * @return New RunContext based on the given seed and rates.
+     */
+    public static RunContext createRunContext(int seed, double lambda, double mu, double rho,
+                                              int mode, boolean antithetic, PrintStream out) {
+        if (mode == VariateGenerator.KEYED) {
+            return new RunContext(null, null, null, null, null,
+                    KeyedVariates.createKeyedVariates(seed, lambda, mu, rho, antithetic), out);
+        } else if (antithetic) {
+            throw new IllegalArgumentException("Antithetic values need the keyed generator");
+        } else if (mode == VariateGenerator.EXTERNAL) {
+            return RunContext.createRunContext(seed, lambda, mu, rho, out);
+        }
+        VariateGenerator random = VariateGenerator.createGenerator(mode, seed, lambda, mu, rho);
+        return new RunContext(random.customerTypes(), random.interArrivalTimes(),
+                random.randomRests(), random.restPeriods(), random.serviceTimes(), null, out);
+    }
+
+    /**
+     * Creates a RunContext drawing from the static Event Suppliers
+     * set by Event.initSuppliers.
+     *
+     * @param out PrintStream for the output of the run.
+     * @return New RunContext based on the static Event Suppliers.
+     */
+    public static RunContext createFromEventSuppliers(PrintStream out) {
+        return new RunContext(Event.customerTypeSupp::get, Event.interArrivalSupp::get,
+                Event.randRestSupp::get, Event.restPeriodSupp::get, Event.serveTimeSupp::get, null,
+                out);
+    }
+
+    /**
+     * Draws the value deciding if a Customer is greedy. The Id
+     * and List index keys of these methods are only used by
+     * KeyedVariates; the other generators draw the next value of
+     * their stream.
+     *
+     * @param customerId Id of the Customer.
+     * @return Value in [0, 1).
+     */
+    public double genCustomerType(int customerId) {
+        return this.keyed == null ? this.customerTypeSupp.getAsDouble()
+            : this.keyed.genCustomerType(customerId);
+    }
+
+    /**
+     * Draws the time from the arrival of a Customer to the next.
+     *
+     * @param customerId Id of the Customer.
+     * @return Inter-arrival time.
+     */
+    public double genInterArrivalTime(int customerId) {
+        return this.keyed == null ? this.interArrivalSupp.getAsDouble()
+            : this.keyed.genInterArrivalTime(customerId);
+    }
+
+    /**
+     * Draws the value deciding if a Server rests.
+     *
+     * @param serverIdx List index of the Server.
+     * @return Value in [0, 1).
+     */
+    public double genRandomRest(int serverIdx) {
+        return this.keyed == null ? this.randRestSupp.getAsDouble()
+            : this.keyed.genRandomRest(serverIdx);
+    }
+
+    /**
+     * Draws the time a Server rests for.
+     *
+     * @param serverIdx List index of the Server.
+     * @return Rest period.
+     */
+    public double genRestPeriod(int serverIdx) {
+        return this.keyed == null ? this.restPeriodSupp.getAsDouble()
+            : this.keyed.genRestPeriod(serverIdx);
+    }
+
+    /**
+     * Draws the time taken to serve a Customer.
+     *
+     * @param customerId Id of the Customer.
+     * @return Service time.
+     */
+    public double genServiceTime(int customerId) {
+        return this.keyed == null ? this.serveTimeSupp.getAsDouble()
+            : this.keyed.genServiceTime(customerId);
+    }
+
+    /**
+     * Returns the PrintStream for the output of the run.
+     *
+     * @return PrintStream for the output of the run.
+     */
+    public PrintStream getOut() {
+        return this.out;
+    }
+}
@@ -0,0 +1,506 @@
+package cs2030.simulator;
+
+import cs2030.simulator.EventQueue;
+import cs2030.simulator.PrecisionTarget;
+import cs2030.simulator.ServerTable;
+import cs2030.simulator.TraceSink;
+import cs2030.simulator.VariateGenerator;
+
+/**
+ * RunOptions class to store the implementation choices
+ * for a simulation run. Unless stated otherwise, these never
+ * change the printed output, only how the simulation gets there.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class RunOptions {
+    public static final int OBJECT_KEYS = 0;
+    public static final int PACKED_KEYS = 1;
+    public static final int FIXED_POINT_KEYS = 2;
+    private final int eventQueueType;
+    private final int greedySampleSize;
+    private final int serverEngine;
+    private final int eventKeys;
+    private final int randomMode;
+    private final int traceType;
+    private final String traceFile;
+    private final boolean traceIndexed;
+    private final boolean waitPercentiles;
+    private final boolean serverMetrics;
+    private final PrecisionTarget precisionTarget;
+    private final double steadyStateHorizon;
+    private final boolean antithetic;
+    private final String cacheDirectory;
+
+    /**
+     * Constructs a RunOptions object.
+     *
+     * @param eventQueueType EventQueue type for the pending Events.
+     * @param greedySampleSize Number of queues sampled by greedy Customers, or 0 for all.
+     * @param serverEngine ServerTable type to store the Servers in.
+     * @param eventKeys How Events are ranked in the EventQueue.
+     * @param randomMode VariateGenerator mode drawing the random values.
+     * @param traceType TraceSink type recording the trace.
+     * @param traceFile Path of the trace file, or null.
+     * @param traceIndexed Indicator to determine if a TraceIndex of the trace file is saved.
+     * @param waitPercentiles Indicator to determine if the waiting time percentiles are printed.
+     * @param serverMetrics Indicator to determine if the ServerMetrics table is printed.
+     * @param precisionTarget PrecisionTarget ending the run early, or null.
+     * @param steadyStateHorizon Time horizon of a single steady-state run, or 0.
+     * @param antithetic Indicator to determine if KeyedVariates draw antithetic values.
+     * @param cacheDirectory Directory of the ResultCache, or null.
+     */
+    private RunOptions(int eventQueueType, int greedySampleSize, int serverEngine, int eventKeys,
+                       int randomMode, int traceType, String traceFile, boolean traceIndexed,
+                       boolean waitPercentiles, boolean serverMetrics,
+                       PrecisionTarget precisionTarget, double steadyStateHorizon,
+                       boolean antithetic, String cacheDirectory) {
+        this.eventQueueType = eventQueueType;
+        this.greedySampleSize = greedySampleSize;
+        this.serverEngine = serverEngine;
+        this.eventKeys = eventKeys;
+        this.randomMode = randomMode;
+        this.traceType = traceType;
+        this.traceFile = traceFile;
+        this.traceIndexed = traceIndexed;
+        this.waitPercentiles = waitPercentiles;
+        this.serverMetrics = serverMetrics;
+        this.precisionTarget = precisionTarget;
+        this.steadyStateHorizon = steadyStateHorizon;
+        this.antithetic = antithetic;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Creates a RunOptions object with the default choices.
+     *
+     * @return New RunOptions object with the default choices.
+     */
+    public static RunOptions createRunOptions() {
+        return new RunOptions(EventQueue.BINARY_HEAP, 0, ServerTable.LIST, RunOptions.OBJECT_KEYS,
+                VariateGenerator.EXTERNAL, TraceSink.PRINT, null, false, false, false, null, 0.0,
+                false, null);
+    }
+
+    /**
+     * Creates a RunOptions object from command-line flags
+     * of the form "--name=value". Flags that would be ignored
+     * together, such as a trace file without a trace or antithetic
+     * values without the keyed generator, are rejected.
+     *
+     * @param args String array of flags.
+     * @return New RunOptions object based on the given flags.
+     */
+    public static RunOptions parseOptions(String[] args) {
+        RunOptions options = RunOptions.createRunOptions();
+        for (String arg : args) {
+            if (arg.startsWith("--queue=")) {
+                options = options.withEventQueueType(
+                        EventQueue.parseType(arg.substring("--queue=".length())));
+            } else if (arg.startsWith("--greedy-sample=")) {
+                options = options.withGreedySampleSize(
+                        Integer.parseInt(arg.substring("--greedy-sample=".length())));
+            } else if (arg.equals("--servers=list")) {
+                options = options.withServerEngine(ServerTable.LIST);
+            } else if (arg.equals("--servers=array")) {
+                options = options.withServerEngine(ServerTable.ARRAY);
+            } else if (arg.equals("--keys=object")) {
+                options = options.withEventKeys(RunOptions.OBJECT_KEYS);
+            } else if (arg.equals("--keys=packed")) {
+                options = options.withEventKeys(RunOptions.PACKED_KEYS);
+            } else if (arg.equals("--keys=fixed")) {
+                options = options.withEventKeys(RunOptions.FIXED_POINT_KEYS);
+            } else if (arg.startsWith("--rng=")) {
+                options = options.withRandomMode(
+                        VariateGenerator.parseMode(arg.substring("--rng=".length())));
+            } else if (arg.startsWith("--trace=")) {
+                options = options.withTraceType(
+                        TraceSink.parseType(arg.substring("--trace=".length())));
+            } else if (arg.startsWith("--trace-file=")) {
+                options = options.withTraceFile(arg.substring("--trace-file=".length()));
+            } else if (arg.equals("--trace-index")) {
+                options = options.withTraceIndex(true);
+            } else if (arg.equals("--percentiles")) {
+                options = options.withWaitPercentiles(true);
+            } else if (arg.equals("--server-metrics")) {
+                options = options.withServerMetrics(true);
+            } else if (arg.startsWith("--precision=")) {
+                options = options.withPrecisionTarget(
+                        PrecisionTarget.parseTarget(arg.substring("--precision=".length())));
+            } else if (arg.startsWith("--steady-state=")) {
+                options = options.withSteadyState(
+                        Double.parseDouble(arg.substring("--steady-state=".length())));
+            } else if (arg.equals("--antithetic")) {
+                options = options.withAntithetic(true);
+            } else if (arg.startsWith("--cache=")) {
+                options = options.withCacheDirectory(arg.substring("--cache=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (options.getTraceFile() != null && options.getTraceType() == TraceSink.NONE) {
+            throw new IllegalArgumentException("--trace-file needs a trace, not --trace=none");
+        }
+        if (options.isTraceIndexed() && (options.getTraceFile() == null ||
+                options.getTraceType() == TraceSink.NONE ||
+                options.getTraceType() == TraceSink.BINARY)) {
+            throw new IllegalArgumentException("--trace-index needs a text --trace-file");
+        }
+        if (options.isAntithetic() && options.getRandomMode() != VariateGenerator.KEYED) {
+            throw new IllegalArgumentException("--antithetic needs --rng=keyed");
+        }
+        return options;
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but
+     * with the given EventQueue type.
+     *
+     * @param type One of the EventQueue type constants.
+     * @return New RunOptions object with the given EventQueue type.
+     */
+    public RunOptions withEventQueueType(int type) {
+        return new RunOptions(type, this.greedySampleSize, this.serverEngine, this.eventKeys,
+                this.randomMode, this.traceType, this.traceFile, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * greedy Customers picking the shortest of a number of randomly
+     * sampled queues instead of the shortest of all queues. This is
+     * an approximation that changes the simulated output.
+     *
+     * @param sampleSize Number of queues to sample, or 0 to search all queues.
+     * @return New RunOptions object with the given sample size.
+     */
+    public RunOptions withGreedySampleSize(int sampleSize) {
+        return new RunOptions(this.eventQueueType, sampleSize, this.serverEngine, this.eventKeys,
+                this.randomMode, this.traceType, this.traceFile, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but
+     * with the given ServerTable type. ServerTable.ARRAY keeps
+     * the Server states in primitive arrays instead of replacing
+     * immutable Server objects on every change.
+     *
+     * @param engine One of the ServerTable type constants.
+     * @return New RunOptions object with the given ServerTable type.
+     */
+    public RunOptions withServerEngine(int engine) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, engine, this.eventKeys,
+                this.randomMode, this.traceType, this.traceFile, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but ranking
+     * Events by a different key. RunOptions.PACKED_KEYS compares the
+     * primitive keys packed into every Event and keeps the exact order;
+     * RunOptions.FIXED_POINT_KEYS compares a single fixed-point long,
+     * which may reorder Events less than 2^-20 apart (see
+     * PackedEventComparator).
+     *
+     * @param keys One of the RunOptions key constants.
+     * @return New RunOptions object with the given keys.
+     */
+    public RunOptions withEventKeys(int keys) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine, keys,
+                this.randomMode, this.traceType, this.traceFile, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * the random values drawn by the given generator. EXTERNAL
+     * and COMPATIBLE give the same output, FAST and KEYED do not.
+     * KEYED draws the values of each Customer and Server from their
+     * own substreams, so that other configurations see the same ones.
+     *
+     * @param mode One of the VariateGenerator mode constants.
+     * @return New RunOptions object with the given generator mode.
+     */
+    public RunOptions withRandomMode(int mode) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, mode, this.traceType, this.traceFile, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * the trace recorded by the given TraceSink type. With NONE
+     * only the Statistics line is printed.
+     *
+     * @param type One of the TraceSink type constants.
+     * @return New RunOptions object with the given TraceSink type.
+     */
+    public RunOptions withTraceType(int type) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, type, this.traceFile, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * the trace saved to the given file by the TraceSink types
+     * that save one.
+     *
+     * @param file Path of the trace file, or null.
+     * @return New RunOptions object with the given trace file.
+     */
+    public RunOptions withTraceFile(String file) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, file, this.traceIndexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * a TraceIndex saved next to a text trace file, so that the
+     * lines of a Customer or Server can be found without a scan.
+     *
+     * @param indexed Indicator to determine if a TraceIndex is saved.
+     * @return New RunOptions object with the given choice.
+     */
+    public RunOptions withTraceIndex(boolean indexed) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile, indexed,
+                this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * a second line after the Statistics, with the percentiles of
+     * the waiting times and the share of Customers who left.
+     *
+     * @param printed Indicator to determine if the percentiles are printed.
+     * @return New RunOptions object with the given choice.
+     */
+    public RunOptions withWaitPercentiles(boolean printed) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile,
+                this.traceIndexed, printed, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * the table of ServerMetrics, with the time-weighted utilisation
+     * and queue length of every Server, printed after the Statistics.
+     *
+     * @param printed Indicator to determine if the table is printed.
+     * @return New RunOptions object with the given choice.
+     */
+    public RunOptions withServerMetrics(boolean printed) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile,
+                this.traceIndexed, this.waitPercentiles, printed, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * every run stopping as soon as the estimate of the measure meets
+     * the given PrecisionTarget, so the number of Customers becomes
+     * an upper limit. This changes the simulated output.
+     *
+     * @param target PrecisionTarget to meet, or null to run every Customer.
+     * @return New RunOptions object with the given PrecisionTarget.
+     */
+    public RunOptions withPrecisionTarget(PrecisionTarget target) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile,
+                this.traceIndexed, this.waitPercentiles, this.serverMetrics, target,
+                this.steadyStateHorizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * a single long run of Customers arriving until the given time
+     * horizon, instead of a fixed number of Customers, followed by the
+     * SteadyStateEstimate of the run with its warm-up truncated. This
+     * changes the simulated output.
+     *
+     * @param horizon Time after which no Customer arrives, or 0 for a fixed number.
+     * @return New RunOptions object with the given horizon.
+     */
+    public RunOptions withSteadyState(double horizon) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile,
+                this.traceIndexed, this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                horizon, this.antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * the KeyedVariates drawing 1 - u wherever they would draw u,
+     * for the second run of an antithetic pair. This needs the KEYED
+     * generator mode and changes the simulated output.
+     *
+     * @param antithetic Indicator to determine if antithetic values are drawn.
+     * @return New RunOptions object with the given choice.
+     */
+    public RunOptions withAntithetic(boolean antithetic) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile,
+                this.traceIndexed, this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, antithetic, this.cacheDirectory);
+    }
+
+    /**
+     * Returns a new RunOptions object based on this one, but with
+     * runs looked up in, and saved to, the ResultCache in the given
+     * directory. A run found there is not simulated again.
+     *
+     * @param directory Directory of the ResultCache, or null to always simulate.
+     * @return New RunOptions object with the given directory.
+     */
+    public RunOptions withCacheDirectory(String directory) {
+        return new RunOptions(this.eventQueueType, this.greedySampleSize, this.serverEngine,
+                this.eventKeys, this.randomMode, this.traceType, this.traceFile,
+                this.traceIndexed, this.waitPercentiles, this.serverMetrics, this.precisionTarget,
+                this.steadyStateHorizon, this.antithetic, directory);
+    }
+
+    /**
+     * Returns the EventQueue type of this RunOptions object.
+     *
+     * @return EventQueue type constant.
+     */
+    public int getEventQueueType() {
+        return this.eventQueueType;
+    }
+
+    /**
+     * Returns the number of queues sampled by greedy Customers.
+     *
+     * @return Number of queues sampled, or 0 if all queues are searched.
+     */
+    public int getGreedySampleSize() {
+        return this.greedySampleSize;
+    }
+
+    /**
+     * Returns the ServerTable type of this RunOptions object.
+     *
+     * @return ServerTable type constant.
+     */
+    public int getServerEngine() {
+        return this.serverEngine;
+    }
+
+    /**
+     * Returns how Events are ranked in the EventQueue.
+     *
+     * @return One of the RunOptions key constants.
+     */
+    public int getEventKeys() {
+        return this.eventKeys;
+    }
+
+    /**
+     * Returns the VariateGenerator mode of this RunOptions object.
+     *
+     * @return One of the VariateGenerator mode constants.
+     */
+    public int getRandomMode() {
+        return this.randomMode;
+    }
+
+    /**
+     * Returns the TraceSink type of this RunOptions object.
+     *
+     * @return One of the TraceSink type constants.
+     */
+    public int getTraceType() {
+        return this.traceType;
+    }
+
+    /**
+     * Returns the trace file of this RunOptions object.
+     *
+     * @return Path of the trace file, or null.
+     */
+    public String getTraceFile() {
+        return this.traceFile;
+    }
+
+    /**
+     * Returns a boolean value indicating if a TraceIndex of the
+     * trace file is saved.
+     *
+     * @return Boolean value indicating if a TraceIndex is saved.
+     */
+    public boolean isTraceIndexed() {
+        return this.traceIndexed;
+    }
+
+    /**
+     * Returns a boolean value indicating if the waiting time
+     * percentiles are printed.
+     *
+     * @return Boolean value indicating if the percentiles are printed.
+     */
+    public boolean isWaitPercentilesPrinted() {
+        return this.waitPercentiles;
+    }
+
+    /**
+     * Returns a boolean value indicating if the ServerMetrics
+     * table is printed.
+     *
+     * @return Boolean value indicating if the table is printed.
+     */
+    public boolean isServerMetricsPrinted() {
+        return this.serverMetrics;
+    }
+
+    /**
+     * Returns the PrecisionTarget ending the run early.
+     *
+     * @return PrecisionTarget, or null if every Customer is run.
+     */
+    public PrecisionTarget getPrecisionTarget() {
+        return this.precisionTarget;
+    }
+
+    /**
+     * Returns the time horizon of a single steady-state run.
+     *
+     * @return Time horizon, or 0 for a fixed number of Customers.
+     */
+    public double getSteadyStateHorizon() {
+        return this.steadyStateHorizon;
+    }
+
+    /**
+     * Returns a boolean value indicating if KeyedVariates draw
+     * antithetic values.
+     *
+     * @return Boolean value indicating if antithetic values are drawn.
+     */
+    public boolean isAntithetic() {
+        return this.antithetic;
+    }
+
+    /**
+     * Returns the directory of the ResultCache that runs are
+     * looked up in.
+     *
+     * @return Directory of the ResultCache, or null if runs are not cached.
+     */
+    public String getCacheDirectory() {
+        return this.cacheDirectory;
+    }
+}
@@ -0,0 +1,141 @@
+package cs2030.simulator;
+
+/**
+ * SampleStatistics class to accumulate the mean and variance of
+ * a sample of independent observations in one pass (Welford's
+ * method), and to give a 95% confidence interval for the mean.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class SampleStatistics {
+    private static final double Z_975 = 1.959963984540054;
+    private static final double[] T_975 = {Double.POSITIVE_INFINITY, 12.706204736, 4.302652730,
+        3.182446305, 2.776445105, 2.570581836, 2.446911851, 2.364624252, 2.306004135,
+        2.262157163, 2.228138852};
+    private long count;
+    private double mean;
+    private double sumSquares;
+
+    /**
+     * Constructs a SampleStatistics object.
+     */
+    private SampleStatistics() {
+        this.count = 0;
+        this.mean = 0.0;
+        this.sumSquares = 0.0;
+    }
+
+    /**
+     * Creates an empty SampleStatistics object.
+     *
+     * @return New SampleStatistics object.
+     */
+    public static SampleStatistics createSampleStatistics() {
+        return new SampleStatistics();
+    }
+
+    /**
+     * Adds an observation.
+     *
+     * @param value Observation to add.
+     */
+    public void add(double value) {
+        this.count++;
+        double delta = value - this.mean;
+        this.mean += delta / this.count;
+        this.sumSquares += delta * (value - this.mean);
+    }
+
+    /**
+     * Adds every observation of another SampleStatistics object.
+     *
+     * @param other SampleStatistics object to merge into this one.
+     */
+    public void merge(SampleStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = this.count + other.count;
+        double delta = other.mean - this.mean;
+        this.mean += delta * other.count / total;
+        this.sumSquares += other.sumSquares + delta * delta * this.count * other.count / total;
+        this.count = total;
+    }
+
+    /**
+     * Returns the number of observations.
+     *
+     * @return Number of observations.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the sample mean.
+     *
+     * @return Sample mean, or 0 if there are no observations.
+     */
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Returns the sample variance, with n - 1 degrees of freedom.
+     *
+     * @return Sample variance, or 0 if there are fewer than two observations.
+     */
+    public double getVariance() {
+        return this.count < 2 ? 0.0 : this.sumSquares / (this.count - 1);
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval for
+     * the mean, using Student's t distribution.
+     *
+     * @return Half-width of the confidence interval, or infinity for fewer than two observations.
+     */
+    public double getHalfWidth() {
+        if (this.count < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return SampleStatistics.studentQuantile(this.count - 1) *
+            Math.sqrt(this.getVariance() / this.count);
+    }
+
+    /**
+     * Returns the 97.5% quantile of Student's t distribution, from a
+     * table up to ten degrees of freedom and from the Cornish-Fisher
+     * expansion about the normal quantile beyond (within 1e-5).
+     *
+     * @param df Degrees of freedom.
+     * @return The 97.5% quantile.
+     */
+    public static double studentQuantile(long df) {
+        if (df < SampleStatistics.T_975.length) {
+            return SampleStatistics.T_975[(int) df];
+        }
+        double z = SampleStatistics.Z_975;
+        double z2 = z * z;
+        double v = df;
+        double g1 = (z2 + 1) * z / 4;
+        double g2 = ((5 * z2 + 16) * z2 + 3) * z / 96;
+        double g3 = (((3 * z2 + 19) * z2 + 17) * z2 - 15) * z / 384;
+        double g4 = ((((79 * z2 + 776) * z2 + 1482) * z2 - 1920) * z2 - 945) * z / 92160;
+        return z + g1 / v + g2 / (v * v) + g3 / (v * v * v) + g4 / (v * v * v * v);
+    }
+
+    /**
+     * Returns a String with the mean, variance and 95% confidence
+     * interval of this sample.
+     *
+     * @return String based on this SampleStatistics object.
+     */
+    @Override
+    public String toString() {
+        double halfWidth = this.getHalfWidth();
+        return String.format("mean %.6f var %.6f 95%% CI [%.6f, %.6f]", this.mean,
+                this.getVariance(), this.mean - halfWidth, this.mean + halfWidth);
+    }
+}
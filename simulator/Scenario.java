@@ -0,0 +1,208 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+import java.util.Scanner;
+import cs2030.simulator.ResultCache;
+import cs2030.simulator.RunContext;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Shop;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.StreamingStatistics;
+
+/**
+ * Scenario class to store the ten input values that fully
+ * determine a simulation, in the order Main reads them.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class Scenario {
+    private final int seed;
+    private final int serverNum;
+    private final int selfCheckNum;
+    private final int qLength;
+    private final int customerNum;
+    private final double arrRate;
+    private final double serveRate;
+    private final double restRate;
+    private final double restProb;
+    private final double greedyCustomers;
+
+    /**
+     * Constructs a Scenario.
+     *
+     * @param seed The RandomGenerator seed.
+     * @param serverNum Number of human Servers.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param qLength Maximum number of waiting Customers in a Server queue.
+     * @param customerNum Number of Customers.
+     * @param arrRate The arrival rate.
+     * @param serveRate The service rate.
+     * @param restRate The resting rate.
+     * @param restProb Probability of a Server resting.
+     * @param greedyCustomers Probability of a Customer being greedy.
+     */
+    private Scenario(int seed, int serverNum, int selfCheckNum, int qLength, int customerNum,
+                     double arrRate, double serveRate, double restRate, double restProb,
+                     double greedyCustomers) {
+        this.seed = seed;
+        this.serverNum = serverNum;
+        this.selfCheckNum = selfCheckNum;
+        this.qLength = qLength;
+        this.customerNum = customerNum;
+        this.arrRate = arrRate;
+        this.serveRate = serveRate;
+        this.restRate = restRate;
+        this.restProb = restProb;
+        this.greedyCustomers = greedyCustomers;
+    }
+
+    /**
+     * Creates a Scenario.
+     *
+     * @param seed The RandomGenerator seed.
+     * @param serverNum Number of human Servers.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param qLength Maximum number of waiting Customers in a Server queue.
+     * @param customerNum Number of Customers.
+     * @param arrRate The arrival rate.
+     * @param serveRate The service rate.
+     * @param restRate The resting rate.
+     * @param restProb Probability of a Server resting.
+     * @param greedyCustomers Probability of a Customer being greedy.
+     * @return New Scenario based on the given values.
+     */
+    public static Scenario createScenario(int seed, int serverNum, int selfCheckNum, int qLength,
+                                          int customerNum, double arrRate, double serveRate,
+                                          double restRate, double restProb,
+                                          double greedyCustomers) {
+        return new Scenario(seed, serverNum, selfCheckNum, qLength, customerNum, arrRate,
+                serveRate, restRate, restProb, greedyCustomers);
+    }
+
+    /**
+     * Reads a Scenario through a given Scanner, in the order
+     * seed, servers, self-checks, queue length, customers,
+     * arrival rate, service rate, resting rate, resting
+     * probability and greedy probability.
+     *
+     * @param sc Scanner to read input.
+     * @return New Scenario based on the input.
+     */
+    public static Scenario readScenario(Scanner sc) {
+        final int seed = sc.nextInt();
+        final int serverNum = sc.nextInt();
+        final int selfCheckNum = sc.nextInt();
+        final int qLength = sc.nextInt();
+        final int customerNum = sc.nextInt();
+        final double arrRate = sc.nextDouble();
+        final double serveRate = sc.nextDouble();
+        final double restRate = sc.nextDouble();
+        final double restProb = sc.nextDouble();
+        final double greedyCustomers = sc.nextDouble();
+        return new Scenario(seed, serverNum, selfCheckNum, qLength, customerNum, arrRate,
+                serveRate, restRate, restProb, greedyCustomers);
+    }
+
+    /**
+     * Returns a new Scenario based on this Scenario, but with
+     * a different seed.
+     *
+     * @param newSeed The RandomGenerator seed.
+     * @return New Scenario with the given seed.
+     */
+    public Scenario withSeed(int newSeed) {
+        return new Scenario(newSeed, this.serverNum, this.selfCheckNum, this.qLength,
+                this.customerNum, this.arrRate, this.serveRate, this.restRate, this.restProb,
+                this.greedyCustomers);
+    }
+
+    /**
+     * Executes the simulation of this Scenario in its own
+     * RunContext, or prints it from the ResultCache if the
+     * RunOptions name one that holds it.
+     *
+     * @param options RunOptions for the simulation.
+     * @param out PrintStream for the output of the simulation.
+     * @return Statistics of the simulation.
+     */
+    public Statistics run(RunOptions options, PrintStream out) {
+        if (options.getCacheDirectory() != null) {
+            return ResultCache.forDirectory(options.getCacheDirectory()).run(this, options, out);
+        }
+        return this.runStreaming(options, out).getStatistics();
+    }
+
+    /**
+     * Executes the simulation of this Scenario in its own
+     * RunContext, returning the StreamingStatistics with the
+     * waiting time percentiles.
+     *
+     * @param options RunOptions for the simulation.
+     * @param out PrintStream for the output of the simulation.
+     * @return StreamingStatistics of the simulation.
+     */
+    public StreamingStatistics runStreaming(RunOptions options, PrintStream out) {
+        RunContext context = RunContext.createRunContext(this.seed, this.arrRate, this.serveRate,
+                this.restRate, options.getRandomMode(), options.isAntithetic(), out);
+        return Shop.executeStreaming(this.serverNum, this.qLength, this.customerNum,
+                this.restProb, this.selfCheckNum, this.greedyCustomers, options, context);
+    }
+
+    /**
+     * Returns a boolean value indicating if this Scenario can be
+     * evaluated exactly by MarkovEvaluator instead of simulated.
+     *
+     * @return Boolean value indicating if this Scenario can be evaluated exactly.
+     */
+    public boolean isMarkovian() {
+        return MarkovEvaluator.isSupported(this.serverNum, this.selfCheckNum, this.qLength,
+                this.restProb, this.greedyCustomers);
+    }
+
+    /**
+     * Finds the exact steady-state measures of this Scenario with
+     * MarkovEvaluator, which does not depend on the seed or the
+     * number of Customers.
+     *
+     * @return AnalyticResult of this Scenario, or null if the solver does not converge in time.
+     */
+    public AnalyticResult evaluate() {
+        if (!this.isMarkovian()) {
+            throw new IllegalArgumentException("Scenario cannot be evaluated exactly: " + this);
+        }
+        return MarkovEvaluator.evaluate(this.serverNum, this.qLength, this.arrRate,
+                this.serveRate);
+    }
+
+    /**
+     * Returns the number of Customers of this Scenario.
+     *
+     * @return Number of Customers.
+     */
+    public int getCustomerNum() {
+        return this.customerNum;
+    }
+
+    /**
+     * Returns the seed of this Scenario.
+     *
+     * @return The RandomGenerator seed.
+     */
+    public int getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns a String based on this Scenario, with the ten
+     * values in the order Main reads them.
+     *
+     * @return String based on this Scenario.
+     */
+    @Override
+    public String toString() {
+        return this.seed + " " + this.serverNum + " " + this.selfCheckNum + " " + this.qLength +
+            " " + this.customerNum + " " + this.arrRate + " " + this.serveRate + " " +
+            this.restRate + " " + this.restProb + " " + this.greedyCustomers;
+    }
+}
@@ -12,30 +12,42 @@ import cs2030.simulator.Customer;
  * @version 3.4
  */
 public class SelfCheckServer extends Server {
-    private static final LinkedList<Customer> selfCheckQueue = new LinkedList<>();
+    private final LinkedList<Customer> selfCheckQueue;
 
     /**
      * Constructs a SelfCheckServer.
      *
      * @param id SelfCheckServer Id.
+     * @param selfCheckQueue Customer queue shared by the Shop's SelfCheckServers.
      */
-    private SelfCheckServer(int id) {
-        super(id, SelfCheckServer.selfCheckQueue);
+    private SelfCheckServer(int id, LinkedList<Customer> selfCheckQueue) {
+        super(id, selfCheckQueue);
+        this.selfCheckQueue = selfCheckQueue;
     }
 
     /**
      * Constructs a SelfCheckServer.
      *
      * @param id SelfCheckServer Id.
+     * @param selfCheckQueue Customer queue shared by the Shop's SelfCheckServers.
      * @param idle Indicator to determine if this SelfCheckServer will be idle.
      * @param resting Indicator to determine if this SelfCheckServer will be resting.
      */
-    private SelfCheckServer(int id, boolean idle, boolean resting) {
-        super(id, SelfCheckServer.selfCheckQueue, idle, resting);
+    private SelfCheckServer(int id, LinkedList<Customer> selfCheckQueue, boolean idle,
+                            boolean resting) {
+        super(id, selfCheckQueue, idle, resting);
+        this.selfCheckQueue = selfCheckQueue;
     }
 
-    public static SelfCheckServer createServer(int id) {
-        return new SelfCheckServer(id);
+    /**
+     * Creates a new SelfCheckServer with a given Id number.
+     *
+     * @param id SelfCheckServer Id.
+     * @param selfCheckQueue Customer queue shared by the Shop's SelfCheckServers.
+     * @return New SelfCheckServer with the given Id.
+     */
+    public static SelfCheckServer createServer(int id, LinkedList<Customer> selfCheckQueue) {
+        return new SelfCheckServer(id, selfCheckQueue);
     }
 
     /**
@@ -47,7 +59,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public SelfCheckServer addCustomer(Customer customer) {
-        SelfCheckServer.selfCheckQueue.add(customer);
+        this.selfCheckQueue.add(customer);
         return this;
     }
 
@@ -60,7 +72,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public boolean isFull(int limit) {
-        return SelfCheckServer.selfCheckQueue.size() >= limit;
+        return this.selfCheckQueue.size() >= limit;
     }
 
     /**
@@ -71,7 +83,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public boolean isEmptyQueue() {
-        return SelfCheckServer.selfCheckQueue.isEmpty();
+        return this.selfCheckQueue.isEmpty();
     }
 
     /**
@@ -82,7 +94,18 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public Customer removeHead() {
-        return SelfCheckServer.selfCheckQueue.removeFirst();
+        return this.selfCheckQueue.removeFirst();
+    }
+
+    /**
+     * Returns the first Customer on the waiting queue, shared
+     * by the SelfCheckServers, without removing it.
+     *
+     * @return First Customer waiting in the queue.
+     */
+    @Override
+    public Customer peekHead() {
+        return this.selfCheckQueue.getFirst();
     }
 
     /**
@@ -93,7 +116,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public int genQueueSize() {
-        return SelfCheckServer.selfCheckQueue.size();
+        return this.selfCheckQueue.size();
     }
 
     /**
@@ -104,7 +127,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public SelfCheckServer setFree() {
-        return new SelfCheckServer(super.id, true, super.resting);
+        return new SelfCheckServer(super.id, this.selfCheckQueue, true, super.resting);
     }
 
     /**
@@ -115,7 +138,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public SelfCheckServer setBusy() {
-        return new SelfCheckServer(super.id, false, super.resting);
+        return new SelfCheckServer(super.id, this.selfCheckQueue, false, super.resting);
     }
 
     /**
@@ -126,7 +149,7 @@ public class SelfCheckServer extends Server {
      */
     @Override
     public SelfCheckServer startRest() {
-        return new SelfCheckServer(super.id, super.idle, false);
+        return new SelfCheckServer(super.id, this.selfCheckQueue, super.idle, false);
     }
 
     /**
@@ -0,0 +1,132 @@
+package cs2030.simulator;
+
+import cs2030.simulator.Event;
+import cs2030.simulator.PrecisionTarget;
+import cs2030.simulator.SampleStatistics;
+
+/**
+ * SequentialEstimate class to follow the estimate of a measure
+ * while a simulation runs, so that it can stop as soon as the
+ * estimate meets its PrecisionTarget.
+ *
+ * <p>The waiting times of consecutive Customers are correlated, so
+ * within a run they are grouped into batches of a fixed number of
+ * Customers, whose means are nearly independent, and the confidence
+ * interval is taken over the batch means. The target is checked
+ * once per batch, in O(1).
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class SequentialEstimate {
+    private final PrecisionTarget target;
+    private final SampleStatistics batchMeans;
+    private double batchSum;
+    private int batchCount;
+    private long observations;
+
+    /**
+     * Constructs a SequentialEstimate.
+     *
+     * @param target PrecisionTarget to meet.
+     */
+    private SequentialEstimate(PrecisionTarget target) {
+        this.target = target;
+        this.batchMeans = SampleStatistics.createSampleStatistics();
+        this.batchSum = 0.0;
+        this.batchCount = 0;
+        this.observations = 0;
+    }
+
+    /**
+     * Creates an empty SequentialEstimate.
+     *
+     * @param target PrecisionTarget to meet.
+     * @return New SequentialEstimate.
+     */
+    public static SequentialEstimate createEstimate(PrecisionTarget target) {
+        return new SequentialEstimate(target);
+    }
+
+    /**
+     * Records the outcome of an ARRIVES Event: for the waiting
+     * time, a Customer served on arrival waited 0; for the share
+     * who left, every arriving Customer counts.
+     *
+     * @param state State of the Event after its arrival was handled.
+     * @return Boolean value indicating if the PrecisionTarget is met.
+     */
+    public boolean addArrival(int state) {
+        if (this.target.getMeasure() == PrecisionTarget.LEFT_SHARE) {
+            return this.add(state == Event.LEAVES ? 1.0 : 0.0);
+        } else if (state == Event.SERVED) {
+            return this.add(0.0);
+        }
+        return false;
+    }
+
+    /**
+     * Records a Customer served after waiting.
+     *
+     * @param waitTime Time the Customer waited.
+     * @return Boolean value indicating if the PrecisionTarget is met.
+     */
+    public boolean addServed(double waitTime) {
+        if (this.target.getMeasure() == PrecisionTarget.WAIT_TIME) {
+            return this.add(waitTime);
+        }
+        return false;
+    }
+
+    /**
+     * Adds an observation to the current batch and checks the
+     * PrecisionTarget when the batch is full.
+     *
+     * @param value Observation to add.
+     * @return Boolean value indicating if the PrecisionTarget is met.
+     */
+    private boolean add(double value) {
+        this.observations++;
+        this.batchSum += value;
+        this.batchCount++;
+        if (this.batchCount < this.target.getBatchSize()) {
+            return false;
+        }
+        this.batchMeans.add(this.batchSum / this.batchCount);
+        this.batchSum = 0.0;
+        this.batchCount = 0;
+        return this.target.isMetBy(this.batchMeans);
+    }
+
+    /**
+     * Returns a boolean value indicating if the PrecisionTarget is met.
+     *
+     * @return Boolean value indicating if the PrecisionTarget is met.
+     */
+    public boolean isMet() {
+        return this.target.isMetBy(this.batchMeans);
+    }
+
+    /**
+     * Returns the sample of batch means.
+     *
+     * @return SampleStatistics of the batch means.
+     */
+    public SampleStatistics getBatchMeans() {
+        return this.batchMeans;
+    }
+
+    /**
+     * Returns a String with the measure, the number of batches
+     * and observations, whether the target was met and the 95%
+     * confidence interval over the batch means.
+     *
+     * @return String based on this SequentialEstimate.
+     */
+    @Override
+    public String toString() {
+        return "[" + (this.target.getMeasure() == PrecisionTarget.WAIT_TIME ? "wait" : "left") +
+            " batches " + this.batchMeans.getCount() + " observations " + this.observations +
+            (this.isMet() ? " met] " : " not met] ") + this.batchMeans;
+    }
+}
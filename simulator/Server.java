@@ -96,6 +96,16 @@ public class Server {
         return this.customerQueue.removeFirst();
     }
 
+    /**
+     * Returns the first Customer in this Server's queue
+     * without removing it.
+     *
+     * @return The first Customer in this Server's queue.
+     */
+    public Customer peekHead() {
+        return this.customerQueue.getFirst();
+    }
+
     /**
      * Creates a List index for this Server based on
      * its Id number.
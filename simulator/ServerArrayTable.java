@@ -0,0 +1,168 @@
+package cs2030.simulator;
+
+import java.util.LinkedList;
+import cs2030.simulator.Customer;
+import cs2030.simulator.Server;
+import cs2030.simulator.SelfCheckServer;
+import cs2030.simulator.ServerTable;
+import cs2030.simulator.CustomerRingBuffer;
+
+/**
+ * ServerArrayTable class to store a Shop's Servers as primitive
+ * arrays indexed by their List index, changing them in place so
+ * that no object is created when a Server changes state.
+ *
+ * <p>The behaviour matches the Server and SelfCheckServer classes,
+ * including their quirks: adding a Customer makes a human Server
+ * busy but leaves a SelfCheckServer unchanged, and SelfCheckServers
+ * never rest. Every SelfCheckServer shares the queue in the slot
+ * after the last human Server. The queues are ring buffers of the
+ * Shop's queue limit, as no queue ever holds more Customers.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ServerArrayTable implements ServerTable {
+    private final int humanNum;
+    private final boolean[] idle;
+    private final boolean[] resting;
+    private final CustomerRingBuffer queues;
+    private final Server[] labels;
+
+    /**
+     * Constructs a ServerArrayTable.
+     *
+     * @param humanNum Number of human Servers.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     */
+    private ServerArrayTable(int humanNum, int selfCheckNum, int qMax) {
+        int serverNum = humanNum + selfCheckNum;
+        int slots = selfCheckNum > 0 ? humanNum + 1 : humanNum;
+        this.humanNum = humanNum;
+        this.idle = new boolean[serverNum];
+        this.resting = new boolean[serverNum];
+        this.queues = CustomerRingBuffer.createRingBuffer(slots, qMax);
+        this.labels = new Server[serverNum];
+        LinkedList<Customer> unusedQueue = new LinkedList<>();
+        for (int i = 0; i < serverNum; i++) {
+            this.idle[i] = true;
+            this.labels[i] = i < humanNum ? Server.createServer(i + 1)
+                : SelfCheckServer.createServer(i + 1, unusedQueue);
+        }
+    }
+
+    /**
+     * Creates a ServerArrayTable of human Servers followed
+     * by SelfCheckServers.
+     *
+     * @param humanNum Number of human Servers.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @return New ServerArrayTable with every Server idle.
+     */
+    public static ServerArrayTable createServerTable(int humanNum, int selfCheckNum, int qMax) {
+        return new ServerArrayTable(humanNum, selfCheckNum, qMax);
+    }
+
+    /**
+     * Returns the queue slot of a Server, which is shared by
+     * every SelfCheckServer.
+     *
+     * @param idx List index of the Server.
+     * @return Queue slot of the Server.
+     */
+    private int slot(int idx) {
+        return Math.min(idx, this.humanNum);
+    }
+
+    @Override
+    public int size() {
+        return this.idle.length;
+    }
+
+    @Override
+    public Server getServer(int idx) {
+        return this.labels[idx];
+    }
+
+    @Override
+    public boolean isSelfCheck(int idx) {
+        return idx >= this.humanNum;
+    }
+
+    @Override
+    public boolean isIdle(int idx) {
+        return this.idle[idx];
+    }
+
+    @Override
+    public boolean isResting(int idx) {
+        return this.resting[idx];
+    }
+
+    @Override
+    public boolean isEmptyQueue(int idx) {
+        return this.queues.size(this.slot(idx)) == 0;
+    }
+
+    @Override
+    public boolean isFull(int idx, int limit) {
+        return this.queues.size(this.slot(idx)) >= limit;
+    }
+
+    @Override
+    public int genQueueSize(int idx) {
+        return this.queues.size(this.slot(idx));
+    }
+
+    @Override
+    public void addCustomer(int idx, int customerId, double time, boolean greedy) {
+        this.queues.add(this.slot(idx), customerId, time, greedy);
+        if (idx < this.humanNum) {
+            this.idle[idx] = false;
+        }
+    }
+
+    @Override
+    public int headId(int idx) {
+        return this.queues.headId(this.slot(idx));
+    }
+
+    @Override
+    public double headTime(int idx) {
+        return this.queues.headTime(this.slot(idx));
+    }
+
+    @Override
+    public boolean isHeadGreedy(int idx) {
+        return this.queues.isHeadGreedy(this.slot(idx));
+    }
+
+    @Override
+    public void removeHead(int idx) {
+        this.queues.removeHead(this.slot(idx));
+    }
+
+    @Override
+    public void setFree(int idx) {
+        this.idle[idx] = true;
+    }
+
+    @Override
+    public void setBusy(int idx) {
+        this.idle[idx] = false;
+    }
+
+    @Override
+    public void startRest(int idx) {
+        this.resting[idx] = idx < this.humanNum;
+    }
+
+    @Override
+    public void stopRest(int idx) {
+        if (idx < this.humanNum) {
+            this.resting[idx] = false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package cs2030.simulator;
+
+import java.util.SplittableRandom;
+import cs2030.simulator.ServerTable;
+import cs2030.simulator.IndexSet;
+import cs2030.simulator.QueueLengthTree;
+
+/**
+ * ServerIndex class to keep the idle Servers and the Servers with
+ * room in their queue up to date as Servers change state, so that
+ * the first of each can be found without scanning every Server.
+ *
+ * <p>Human Servers come before SelfCheckServers in the List, and
+ * every SelfCheckServer shares one queue. The shared queue is
+ * therefore tracked once, through the first SelfCheckServer,
+ * which is the one a scan in List order would find first.
+ *
+ * <p>Queue lengths are kept in a QueueLengthTree for the exact
+ * shortest-queue search of greedy Customers. With a sample size
+ * d above zero the tree is not kept, and greedy Customers instead
+ * pick the shortest of d randomly sampled queues ("power of d
+ * choices"), which costs O(d) regardless of the number of Servers.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ServerIndex {
+    private static final int DOES_NOT_EXIST = -1;
+    private static final long SAMPLE_SEED = 2030L;
+    private final ServerTable servers;
+    private final int humanNum;
+    private final int serverNum;
+    private final int qMax;
+    private final IndexSet idleHumans;
+    private final IndexSet idleSelfChecks;
+    private final IndexSet withRoom;
+    private final int[] queueLengths;
+    private final QueueLengthTree shortestQueues;
+    private final int sampleSize;
+    private final SplittableRandom random;
+    private boolean selfCheckQueueEmpty;
+
+    /**
+     * Constructs a ServerIndex.
+     *
+     * @param humanNum Number of human Servers.
+     * @param serverNum Total number of Servers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @param sampleSize Number of queues sampled by greedy Customers, or 0 for all.
+     * @param servers ServerTable this ServerIndex follows.
+     */
+    private ServerIndex(int humanNum, int serverNum, int qMax, int sampleSize,
+                        ServerTable servers) {
+        int slots = serverNum > humanNum ? humanNum + 1 : humanNum;
+        this.servers = servers;
+        this.humanNum = humanNum;
+        this.serverNum = serverNum;
+        this.qMax = qMax;
+        this.idleHumans = IndexSet.createIndexSet(serverNum);
+        this.idleSelfChecks = IndexSet.createIndexSet(serverNum);
+        this.withRoom = IndexSet.createIndexSet(serverNum);
+        this.queueLengths = new int[slots];
+        this.shortestQueues = sampleSize > 0 ? null : QueueLengthTree.createQueueLengthTree(slots);
+        this.sampleSize = sampleSize;
+        this.random = new SplittableRandom(ServerIndex.SAMPLE_SEED);
+        this.selfCheckQueueEmpty = true;
+    }
+
+    /**
+     * Creates a ServerIndex for a ServerTable.
+     *
+     * @param servers ServerTable of human Servers followed by SelfCheckServers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @param sampleSize Number of queues sampled by greedy Customers, or 0 for all.
+     * @return New ServerIndex matching the current state of the Servers.
+     */
+    public static ServerIndex createServerIndex(ServerTable servers, int qMax,
+                                                int sampleSize) {
+        int humanNum = 0;
+        while (humanNum < servers.size() && !servers.isSelfCheck(humanNum)) {
+            humanNum++;
+        }
+        ServerIndex index = new ServerIndex(humanNum, servers.size(), qMax, sampleSize, servers);
+        for (int i = 0; i < servers.size(); i++) {
+            index.update(i);
+        }
+        return index;
+    }
+
+    /**
+     * Updates this ServerIndex after the Server at a List index
+     * has changed its state or its queue.
+     *
+     * @param idx List index of the Server.
+     */
+    public void update(int idx) {
+        boolean available = this.servers.isIdle(idx) && !this.servers.isResting(idx);
+        boolean room = !this.servers.isFull(idx, this.qMax);
+        int slot;
+        if (idx < this.humanNum) {
+            slot = idx;
+            this.idleHumans.set(idx, available && this.servers.isEmptyQueue(idx));
+        } else {
+            slot = this.humanNum;
+            this.idleSelfChecks.set(idx, available);
+            this.selfCheckQueueEmpty = this.servers.isEmptyQueue(idx);
+        }
+        this.withRoom.set(slot, room);
+        int length = this.servers.genQueueSize(idx);
+        if (this.queueLengths[slot] != length) {
+            this.queueLengths[slot] = length;
+            if (this.shortestQueues != null) {
+                this.shortestQueues.setLength(slot, length);
+            }
+        }
+    }
+
+    /**
+     * Finds the List index of the first idle Server with an
+     * empty queue that is not resting.
+     *
+     * @return List index of the first idle Server, or -1 if there is none.
+     */
+    public int findIdleServer() {
+        int idx = this.idleHumans.first();
+        if (idx == ServerIndex.DOES_NOT_EXIST && this.selfCheckQueueEmpty) {
+            idx = this.idleSelfChecks.first();
+        }
+        return idx;
+    }
+
+    /**
+     * Finds the List index of the first Server with room in its queue.
+     *
+     * @return List index of the first Server with room, or -1 if there is none.
+     */
+    public int findFirstWithRoom() {
+        return this.withRoom.first();
+    }
+
+    /**
+     * Finds the List index of the first Server with the shortest
+     * queue, provided that queue still has room.
+     *
+     * @return List index of the Server, or -1 if every queue is full.
+     */
+    public int findShortestQueue() {
+        if (this.queueLengths.length == 0) {
+            return ServerIndex.DOES_NOT_EXIST;
+        }
+        if (this.shortestQueues == null) {
+            return this.sampleShortestQueue();
+        }
+        int slot = this.shortestQueues.shortest();
+        if (this.queueLengths[slot] > this.qMax - 1) {
+            return ServerIndex.DOES_NOT_EXIST;
+        }
+        return slot;
+    }
+
+    /**
+     * Finds the Server with the shortest queue among a random
+     * sample of Servers, preferring the lowest List index on ties.
+     * If every sampled queue is full, the first Server with room
+     * is used instead, so a Customer only leaves when every queue
+     * is full.
+     *
+     * @return List index of the Server, or -1 if every queue is full.
+     */
+    private int sampleShortestQueue() {
+        int best = ServerIndex.DOES_NOT_EXIST;
+        for (int i = 0; i < this.sampleSize; i++) {
+            int slot = Math.min(this.random.nextInt(this.serverNum), this.humanNum);
+            if (best == ServerIndex.DOES_NOT_EXIST ||
+                    this.queueLengths[slot] < this.queueLengths[best] ||
+                    (this.queueLengths[slot] == this.queueLengths[best] && slot < best)) {
+                best = slot;
+            }
+        }
+        if (this.queueLengths[best] > this.qMax - 1) {
+            return this.findFirstWithRoom();
+        }
+        return best;
+    }
+}
@@ -0,0 +1,125 @@
+package cs2030.simulator;
+
+import java.util.List;
+import cs2030.simulator.Customer;
+import cs2030.simulator.GreedyCustomer;
+import cs2030.simulator.Server;
+import cs2030.simulator.SelfCheckServer;
+import cs2030.simulator.ServerTable;
+
+/**
+ * ServerListTable class to store a Shop's Servers as a List of
+ * immutable Server objects, replacing a Server on every change.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ServerListTable implements ServerTable {
+    private final List<Server> serverList;
+
+    /**
+     * Constructs a ServerListTable.
+     *
+     * @param serverList List of Servers.
+     */
+    private ServerListTable(List<Server> serverList) {
+        this.serverList = serverList;
+    }
+
+    /**
+     * Creates a ServerListTable from a List of Servers.
+     *
+     * @param serverList List of human Servers followed by SelfCheckServers.
+     * @return New ServerListTable based on the given List.
+     */
+    public static ServerListTable createServerTable(List<Server> serverList) {
+        return new ServerListTable(serverList);
+    }
+
+    @Override
+    public int size() {
+        return this.serverList.size();
+    }
+
+    @Override
+    public Server getServer(int idx) {
+        return this.serverList.get(idx);
+    }
+
+    @Override
+    public boolean isSelfCheck(int idx) {
+        return this.serverList.get(idx) instanceof SelfCheckServer;
+    }
+
+    @Override
+    public boolean isIdle(int idx) {
+        return this.serverList.get(idx).isIdle();
+    }
+
+    @Override
+    public boolean isResting(int idx) {
+        return this.serverList.get(idx).isResting();
+    }
+
+    @Override
+    public boolean isEmptyQueue(int idx) {
+        return this.serverList.get(idx).isEmptyQueue();
+    }
+
+    @Override
+    public boolean isFull(int idx, int limit) {
+        return this.serverList.get(idx).isFull(limit);
+    }
+
+    @Override
+    public int genQueueSize(int idx) {
+        return this.serverList.get(idx).genQueueSize();
+    }
+
+    @Override
+    public void addCustomer(int idx, int customerId, double time, boolean greedy) {
+        Customer customer = greedy ? GreedyCustomer.createGreedyCustomer(customerId, time)
+            : Customer.createCustomer(customerId, time);
+        this.serverList.set(idx, this.serverList.get(idx).addCustomer(customer));
+    }
+
+    @Override
+    public int headId(int idx) {
+        return this.serverList.get(idx).peekHead().id;
+    }
+
+    @Override
+    public double headTime(int idx) {
+        return this.serverList.get(idx).peekHead().getTime();
+    }
+
+    @Override
+    public boolean isHeadGreedy(int idx) {
+        return this.serverList.get(idx).peekHead() instanceof GreedyCustomer;
+    }
+
+    @Override
+    public void removeHead(int idx) {
+        this.serverList.get(idx).removeHead();
+    }
+
+    @Override
+    public void setFree(int idx) {
+        this.serverList.set(idx, this.serverList.get(idx).setFree());
+    }
+
+    @Override
+    public void setBusy(int idx) {
+        this.serverList.set(idx, this.serverList.get(idx).setBusy());
+    }
+
+    @Override
+    public void startRest(int idx) {
+        this.serverList.set(idx, this.serverList.get(idx).startRest());
+    }
+
+    @Override
+    public void stopRest(int idx) {
+        this.serverList.set(idx, this.serverList.get(idx).stopRest());
+    }
+}
@@ -0,0 +1,330 @@
+package cs2030.simulator;
+
+import cs2030.simulator.ServerTable;
+
+/**
+ * ServerMetrics class to integrate the time every Server spends
+ * busy, resting and idle, and the length of every queue over time.
+ *
+ * <p>Shop reports each change of a Server state or queue length
+ * with the time it happens at, and only the time since the previous
+ * change is added, so each update takes O(1). The SelfCheckServers
+ * share one queue, which is counted once for the whole pool.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class ServerMetrics {
+    public static final int IDLE = 0;
+    public static final int BUSY = 1;
+    public static final int RESTING = 2;
+    private final String[] labels;
+    private final int humanNum;
+    private final int[] states;
+    private final double[] since;
+    private final double[] busyTime;
+    private final double[] restTime;
+    private final double[] idleTime;
+    private final int[] queueLengths;
+    private final int[] maxQueueLengths;
+    private final double[] queueSince;
+    private final double[] queueArea;
+    private double endTime;
+
+    /**
+     * Constructs a ServerMetrics object with every Server idle
+     * and every queue empty at time 0.
+     *
+     * @param labels Labels of the Servers, by List index.
+     * @param humanNum Number of human Servers, which come first.
+     */
+    private ServerMetrics(String[] labels, int humanNum) {
+        int serverNum = labels.length;
+        int queueNum = serverNum > humanNum ? humanNum + 1 : humanNum;
+        this.labels = labels;
+        this.humanNum = humanNum;
+        this.states = new int[serverNum];
+        this.since = new double[serverNum];
+        this.busyTime = new double[serverNum];
+        this.restTime = new double[serverNum];
+        this.idleTime = new double[serverNum];
+        this.queueLengths = new int[queueNum];
+        this.maxQueueLengths = new int[queueNum];
+        this.queueSince = new double[queueNum];
+        this.queueArea = new double[queueNum];
+        this.endTime = 0.0;
+    }
+
+    /**
+     * Creates a ServerMetrics object for the Servers of a ServerTable.
+     *
+     * @param servers ServerTable of the Servers, human Servers first.
+     * @return New ServerMetrics object.
+     */
+    public static ServerMetrics createServerMetrics(ServerTable servers) {
+        String[] labels = new String[servers.size()];
+        int humanNum = 0;
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = servers.getServer(i).toString();
+            if (!servers.isSelfCheck(i)) {
+                humanNum++;
+            }
+        }
+        return new ServerMetrics(labels, humanNum);
+    }
+
+    /**
+     * Returns the queue counted for a Server, which is the shared
+     * one for every SelfCheckServer.
+     *
+     * @param idx List index of the Server.
+     * @return Index of its queue.
+     */
+    private int queueOf(int idx) {
+        return Math.min(idx, this.humanNum);
+    }
+
+    /**
+     * Records a Server changing state.
+     *
+     * @param idx List index of the Server.
+     * @param state One of the ServerMetrics state constants.
+     * @param time Time of the change.
+     */
+    public void setState(int idx, int state, double time) {
+        double elapsed = time - this.since[idx];
+        if (this.states[idx] == ServerMetrics.BUSY) {
+            this.busyTime[idx] += elapsed;
+        } else if (this.states[idx] == ServerMetrics.RESTING) {
+            this.restTime[idx] += elapsed;
+        } else {
+            this.idleTime[idx] += elapsed;
+        }
+        this.states[idx] = state;
+        this.since[idx] = time;
+    }
+
+    /**
+     * Records a Customer joining the queue of a Server.
+     *
+     * @param idx List index of the Server.
+     * @param time Time the Customer joins.
+     */
+    public void addToQueue(int idx, double time) {
+        int queue = this.queueOf(idx);
+        this.changeQueue(queue, time);
+        this.queueLengths[queue]++;
+        if (this.queueLengths[queue] > this.maxQueueLengths[queue]) {
+            this.maxQueueLengths[queue] = this.queueLengths[queue];
+        }
+    }
+
+    /**
+     * Records a Customer leaving the queue of a Server to be served.
+     *
+     * @param idx List index of the Server.
+     * @param time Time the Customer leaves the queue.
+     */
+    public void removeFromQueue(int idx, double time) {
+        int queue = this.queueOf(idx);
+        this.changeQueue(queue, time);
+        this.queueLengths[queue]--;
+    }
+
+    /**
+     * Adds the area under a queue's length up to a given time.
+     *
+     * @param queue Index of the queue.
+     * @param time Time the queue length changes.
+     */
+    private void changeQueue(int queue, double time) {
+        this.queueArea[queue] += this.queueLengths[queue] * (time - this.queueSince[queue]);
+        this.queueSince[queue] = time;
+    }
+
+    /**
+     * Closes the time integrals at the end of the simulation.
+     *
+     * @param time Time of the last Event.
+     */
+    public void finish(double time) {
+        for (int i = 0; i < this.states.length; i++) {
+            this.setState(i, this.states[i], time);
+        }
+        for (int i = 0; i < this.queueLengths.length; i++) {
+            this.changeQueue(i, time);
+        }
+        this.endTime = time;
+    }
+
+    /**
+     * Adds the times and queue areas of another ServerMetrics
+     * object with the same Servers to this one, as if its run
+     * followed this one.
+     *
+     * @param other ServerMetrics object of the same Servers.
+     */
+    public void merge(ServerMetrics other) {
+        if (other.labels.length != this.labels.length || other.humanNum != this.humanNum) {
+            throw new IllegalArgumentException("ServerMetrics of different Servers");
+        }
+        for (int i = 0; i < this.states.length; i++) {
+            this.busyTime[i] += other.busyTime[i];
+            this.restTime[i] += other.restTime[i];
+            this.idleTime[i] += other.idleTime[i];
+        }
+        for (int i = 0; i < this.queueLengths.length; i++) {
+            this.queueArea[i] += other.queueArea[i];
+            this.maxQueueLengths[i] = Math.max(this.maxQueueLengths[i],
+                    other.maxQueueLengths[i]);
+        }
+        this.endTime += other.endTime;
+    }
+
+    /**
+     * Returns a copy of this ServerMetrics object.
+     *
+     * @return New ServerMetrics object with the same values.
+     */
+    public ServerMetrics copy() {
+        ServerMetrics copy = new ServerMetrics(this.labels, this.humanNum);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Returns the number of Servers.
+     *
+     * @return Number of Servers.
+     */
+    public int size() {
+        return this.labels.length;
+    }
+
+    /**
+     * Returns the time the Servers were observed for.
+     *
+     * @return Time of the last Event, summed over merged runs.
+     */
+    public double getTotalTime() {
+        return this.endTime;
+    }
+
+    /**
+     * Returns the time a Server was busy.
+     *
+     * @param idx List index of the Server.
+     * @return Time spent busy.
+     */
+    public double getBusyTime(int idx) {
+        return this.busyTime[idx];
+    }
+
+    /**
+     * Returns the time a Server was resting.
+     *
+     * @param idx List index of the Server.
+     * @return Time spent resting.
+     */
+    public double getRestTime(int idx) {
+        return this.restTime[idx];
+    }
+
+    /**
+     * Returns the time a Server was idle.
+     *
+     * @param idx List index of the Server.
+     * @return Time spent idle.
+     */
+    public double getIdleTime(int idx) {
+        return this.idleTime[idx];
+    }
+
+    /**
+     * Returns the fraction of the time a Server was busy.
+     *
+     * @param idx List index of the Server.
+     * @return Utilisation of the Server, or 0 if no time passed.
+     */
+    public double getUtilisation(int idx) {
+        return this.endTime == 0 ? 0.0 : this.busyTime[idx] / this.endTime;
+    }
+
+    /**
+     * Returns the time-average length of the queue of a Server,
+     * which is the shared queue for a SelfCheckServer.
+     *
+     * @param idx List index of the Server.
+     * @return Average queue length, or 0 if no time passed.
+     */
+    public double getAverageQueueLength(int idx) {
+        return this.endTime == 0 ? 0.0 : this.queueArea[this.queueOf(idx)] / this.endTime;
+    }
+
+    /**
+     * Returns the longest the queue of a Server has been.
+     *
+     * @param idx List index of the Server.
+     * @return Maximum queue length.
+     */
+    public int getMaxQueueLength(int idx) {
+        return this.maxQueueLengths[this.queueOf(idx)];
+    }
+
+    /**
+     * Creates one row of the table.
+     *
+     * @param label Label of the row.
+     * @param busy Time spent busy.
+     * @param rest Time spent resting.
+     * @param idle Time spent idle.
+     * @param utilisation Fraction of the time spent busy.
+     * @param queue Average queue length, or NaN for no queue.
+     * @param maxQueue Maximum queue length.
+     * @return Row of the table.
+     */
+    private static String row(String label, double busy, double rest, double idle,
+                              double utilisation, double queue, int maxQueue) {
+        String queueColumns = Double.isNaN(queue) ? String.format("%10s %6s", "-", "-")
+            : String.format("%10.3f %6d", queue, maxQueue);
+        return String.format("%-15s %12.3f %12.3f %12.3f %6.3f ", label, busy, rest, idle,
+                utilisation) + queueColumns;
+    }
+
+    /**
+     * Creates a table with a row per Server, and a row for the
+     * pool of SelfCheckServers and their shared queue if there are
+     * any. The utilisation of the pool is the average of its
+     * Servers.
+     *
+     * @return String table of the metrics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format(
+                "%-15s %12s %12s %12s %6s %10s %6s",
+                "server", "busy", "resting", "idle", "util", "avg queue", "max"));
+        for (int i = 0; i < this.labels.length; i++) {
+            double queue = i < this.humanNum ? this.getAverageQueueLength(i) : Double.NaN;
+            table.append('\n').append(ServerMetrics.row(this.labels[i], this.busyTime[i],
+                    this.restTime[i], this.idleTime[i], this.getUtilisation(i), queue,
+                    this.maxQueueLengths[this.queueOf(i)]));
+        }
+        int poolSize = this.labels.length - this.humanNum;
+        if (poolSize > 0) {
+            double busy = 0;
+            double rest = 0;
+            double idle = 0;
+            for (int i = this.humanNum; i < this.labels.length; i++) {
+                busy += this.busyTime[i];
+                rest += this.restTime[i];
+                idle += this.idleTime[i];
+            }
+            double utilisation = this.endTime == 0 ? 0.0 : busy / (poolSize * this.endTime);
+            table.append('\n').append(ServerMetrics.row("self-check pool", busy, rest, idle,
+                    utilisation, this.getAverageQueueLength(this.humanNum),
+                    this.getMaxQueueLength(this.humanNum)));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package cs2030.simulator;
+
+import cs2030.simulator.Server;
+
+/**
+ * ServerTable interface to store and change the state of
+ * a Shop's Servers by their List index.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public interface ServerTable {
+    int LIST = 0;
+    int ARRAY = 1;
+
+    /**
+     * Returns the number of Servers in this ServerTable.
+     *
+     * @return Number of Servers.
+     */
+    int size();
+
+    /**
+     * Returns the Server at a List index, used to label Events.
+     *
+     * @param idx List index of the Server.
+     * @return Server at the List index.
+     */
+    Server getServer(int idx);
+
+    /**
+     * Returns a boolean value indicating if a Server is a SelfCheckServer.
+     *
+     * @param idx List index of the Server.
+     * @return Boolean value indicating if the Server is a SelfCheckServer.
+     */
+    boolean isSelfCheck(int idx);
+
+    /**
+     * Returns a boolean value indicating if a Server is idle.
+     *
+     * @param idx List index of the Server.
+     * @return Boolean value indicating if the Server is idle.
+     */
+    boolean isIdle(int idx);
+
+    /**
+     * Returns a boolean value indicating if a Server is resting.
+     *
+     * @param idx List index of the Server.
+     * @return Boolean value indicating if the Server is resting.
+     */
+    boolean isResting(int idx);
+
+    /**
+     * Returns a boolean value indicating if a Server's queue is empty.
+     *
+     * @param idx List index of the Server.
+     * @return Boolean value indicating if the Server's queue is empty.
+     */
+    boolean isEmptyQueue(int idx);
+
+    /**
+     * Returns a boolean value indicating if a Server's queue is full.
+     *
+     * @param idx List index of the Server.
+     * @param limit Queue limit for the Server.
+     * @return Boolean value indicating if the Server's queue is full.
+     */
+    boolean isFull(int idx, int limit);
+
+    /**
+     * Returns the number of Customers waiting in a Server's queue.
+     *
+     * @param idx List index of the Server.
+     * @return Number of Customers waiting in the Server's queue.
+     */
+    int genQueueSize(int idx);
+
+    /**
+     * Adds a Customer to a Server's queue.
+     *
+     * @param idx List index of the Server.
+     * @param customerId Customer Id.
+     * @param time Time-stamp of the Customer.
+     * @param greedy Indicator to determine if the Customer is a GreedyCustomer.
+     */
+    void addCustomer(int idx, int customerId, double time, boolean greedy);
+
+    /**
+     * Returns the Id of the first Customer in a Server's queue.
+     *
+     * @param idx List index of the Server.
+     * @return Id of the first Customer in the Server's queue.
+     */
+    int headId(int idx);
+
+    /**
+     * Returns the time-stamp of the first Customer in a Server's queue.
+     *
+     * @param idx List index of the Server.
+     * @return Time-stamp of the first Customer in the Server's queue.
+     */
+    double headTime(int idx);
+
+    /**
+     * Returns a boolean value indicating if the first Customer in
+     * a Server's queue is a GreedyCustomer.
+     *
+     * @param idx List index of the Server.
+     * @return Boolean value indicating if the first Customer is a GreedyCustomer.
+     */
+    boolean isHeadGreedy(int idx);
+
+    /**
+     * Removes the first Customer in a Server's queue.
+     *
+     * @param idx List index of the Server.
+     */
+    void removeHead(int idx);
+
+    /**
+     * Changes a Server to an idle state.
+     *
+     * @param idx List index of the Server.
+     */
+    void setFree(int idx);
+
+    /**
+     * Changes a Server to a busy state.
+     *
+     * @param idx List index of the Server.
+     */
+    void setBusy(int idx);
+
+    /**
+     * Changes a Server to a resting state.
+     *
+     * @param idx List index of the Server.
+     */
+    void startRest(int idx);
+
+    /**
+     * Changes a Server to a non-resting state.
+     *
+     * @param idx List index of the Server.
+     */
+    void stopRest(int idx);
+}
@@ -1,16 +1,33 @@
 package cs2030.simulator;
 
-import java.util.PriorityQueue;
 import java.util.ArrayList;
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.ArrayList;
 import cs2030.simulator.Server;
 import cs2030.simulator.Statistics;
-import cs2030.simulator.Event;
+import cs2030.simulator.StreamingStatistics;
+import cs2030.simulator.SteadyStateEstimate;
 import cs2030.simulator.Customer;
-import cs2030.simulator.EventComparator;
+import cs2030.simulator.RunContext;
+import cs2030.simulator.Event;
 import cs2030.simulator.SelfCheckServer;
-import cs2030.simulator.GreedyCustomer;
+import cs2030.simulator.SequentialEstimate;
+import cs2030.simulator.ArrivalStream;
+import cs2030.simulator.EventQueue;
+import cs2030.simulator.EventPool;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.PackedEventComparator;
+import cs2030.simulator.PrecisionTarget;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.ServerIndex;
+import cs2030.simulator.ServerMetrics;
+import cs2030.simulator.ServerTable;
+import cs2030.simulator.ServerListTable;
+import cs2030.simulator.ServerArrayTable;
+import cs2030.simulator.TraceSink;
 
 /**
  * A shop class to store and manage a list of Server objects
@@ -20,19 +37,41 @@ import cs2030.simulator.GreedyCustomer;
  * @version 3.4
  */
 public class Shop {
-    private final List<Server> serverList;
+    private final ServerTable servers;
     private final double restProb;
+    private final RunOptions options;
+    private final RunContext context;
+    private ServerIndex serverIndex;
     private static final int DOES_NOT_EXIST = -1;
 
     /**
      * Constructs a Shop.
      *
-     * @param serverList List of servers created by user input.
+     * @param servers ServerTable of servers created by user input.
      * @param restProb The probability of server resting for this Shop.
+     * @param options RunOptions for this Shop's simulations.
+     * @param context RunContext owning this Shop's random values and output.
      */
-    private Shop(List<Server> serverList, double restProb) {
-        this.serverList = serverList;
+    private Shop(ServerTable servers, double restProb, RunOptions options, RunContext context) {
+        this.servers = servers;
         this.restProb = restProb;
+        this.options = options;
+        this.context = context;
+    }
+
+    /**
+     * Creates a Shop over an existing ServerTable, for benchmarks
+     * that set the Servers up in a given state.
+     *
+     * @param servers ServerTable of the Shop's Servers.
+     * @param restProb The probability of server resting for this Shop.
+     * @param options RunOptions for this Shop's simulations.
+     * @param context RunContext owning this Shop's random values and output.
+     * @return New Shop based on the given ServerTable.
+     */
+    static Shop createShop(ServerTable servers, double restProb, RunOptions options,
+                           RunContext context) {
+        return new Shop(servers, restProb, options, context);
     }
 
     /**
@@ -41,45 +80,90 @@ public class Shop {
      *
      * @param humanNum Number of human Servers.
      * @param selfCheckNum Number of self-checkout Servers.
-     * @return A List of Servers combining the two types of Servers.
+     * @param engine ServerTable type to store the Servers in.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @return A ServerTable combining the two types of Servers.
      */
-    private static List<Server> createServers(int humanNum, int selfCheckNum) {
+    private static ServerTable createServers(int humanNum, int selfCheckNum, int engine,
+                                             int qMax) {
+        if (engine == ServerTable.ARRAY) {
+            return ServerArrayTable.createServerTable(humanNum, selfCheckNum, qMax);
+        }
         List<Server> serverList = new ArrayList<>();
         for (int i = 0; i < humanNum; i++) {
             serverList.add(Server.createServer(i + 1));
         }
+        LinkedList<Customer> selfCheckQueue = new LinkedList<>();
         int k = serverList.size();
         for (int i = k; i < k + selfCheckNum; i++) {
-            serverList.add(SelfCheckServer.createServer(i + 1));
+            serverList.add(SelfCheckServer.createServer(i + 1, selfCheckQueue));
         }
-        return serverList;
+        return ServerListTable.createServerTable(serverList);
     }
 
     /**
-     * Creates a PriorityQueue of Events based on the specified
-     * number of arriving typical and greedy Customers.
+     * Creates an ArrivalStream of Events based on the specified
+     * number of arriving typical and greedy Customers, or of the
+     * Customers arriving until a time horizon if one is given.
      *
      * @param customerNum Number of typical Customers.
      * @param greedyCustomers Number of greedy Customers.
-     * @return PriorityQueue of the combined new Events.
+     * @param context RunContext to draw random values from.
+     * @param horizon Time after which no Customer arrives, or 0 for a fixed number.
+     * @return ArrivalStream generating the combined new Events.
      */
-    private static PriorityQueue<Event> makeCustomers(int customerNum, double greedyCustomers) {
-        PriorityQueue<Event> events = new PriorityQueue<>(new EventComparator());
-        double time = 0.0;
-        for (int i = 1; i <= customerNum; i++) {
-            if (Event.customerTypeSupp.get() < greedyCustomers) {
-                events.offer(Event.createEvent(GreedyCustomer.createGreedyCustomer(i, time), time));
-            } else {
-                events.offer(Event.createEvent(Customer.createCustomer(i, time), time));
-            }
-            time += Event.interArrivalSupp.get();
+    private static ArrivalStream makeCustomers(int customerNum, double greedyCustomers,
+                                               RunContext context, double horizon) {
+        if (horizon > 0) {
+            return ArrivalStream.createArrivalStream(greedyCustomers, context, horizon);
         }
-        return events;
+        return ArrivalStream.createArrivalStream(customerNum, greedyCustomers, context);
+    }
+
+    /**
+     * Creates a new Shop object and executes the simulation
+     * of discrete Events, drawing from the static Event Suppliers
+     * and printing to System.out.
+     *
+     * @param humanNum Number of human Servers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @param customerNum Number of typical Customers.
+     * @param restProb Probability of a Server resting.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param greedyCustomers Number of greedy customers.
+     * @return Statistics of the simulation.
+     */
+    public static Statistics execute(int humanNum, int qMax, int customerNum, double restProb,
+                                     int selfCheckNum, double greedyCustomers) {
+        return Shop.execute(humanNum, qMax, customerNum, restProb, selfCheckNum, greedyCustomers,
+                RunOptions.createRunOptions());
     }
 
     /**
      * Creates a new Shop object and executes the simulation
-     * of discrete Events.
+     * of discrete Events with the given RunOptions, drawing from
+     * the static Event Suppliers and printing to System.out.
+     *
+     * @param humanNum Number of human Servers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @param customerNum Number of typical Customers.
+     * @param restProb Probability of a Server resting.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param greedyCustomers Number of greedy customers.
+     * @param options RunOptions for the simulation.
+     * @return Statistics of the simulation.
+     */
+    public static Statistics execute(int humanNum, int qMax, int customerNum, double restProb,
+                                     int selfCheckNum, double greedyCustomers,
+                                     RunOptions options) {
+        return Shop.execute(humanNum, qMax, customerNum, restProb, selfCheckNum, greedyCustomers,
+                options, RunContext.createFromEventSuppliers(System.out));
+    }
+
+    /**
+     * Creates a new Shop object and executes the simulation of
+     * discrete Events within its own RunContext, so that several
+     * simulations can execute at the same time.
      *
      * @param humanNum Number of human Servers.
      * @param qMax Maximum number of waiting Customers in a Server queue.
@@ -87,131 +171,284 @@ public class Shop {
      * @param restProb Probability of a Server resting.
      * @param selfCheckNum Number of self-checkout Servers.
      * @param greedyCustomers Number of greedy customers.
+     * @param options RunOptions for the simulation.
+     * @param context RunContext owning the random values and output of the simulation.
+     * @return Statistics of the simulation.
      */
-    public static void execute(int humanNum, int qMax, int customerNum, double restProb,
-                               int selfCheckNum, double greedyCustomers) {
-        List<Server> servers = createServers(humanNum, selfCheckNum);
-        Shop shop = new Shop(servers, restProb);
-        shop.simulate(makeCustomers(customerNum, greedyCustomers), qMax);
+    public static Statistics execute(int humanNum, int qMax, int customerNum, double restProb,
+                                     int selfCheckNum, double greedyCustomers,
+                                     RunOptions options, RunContext context) {
+        return Shop.executeStreaming(humanNum, qMax, customerNum, restProb, selfCheckNum,
+                greedyCustomers, options, context).getStatistics();
+    }
+
+    /**
+     * Creates a new Shop object and executes the simulation of
+     * discrete Events within its own RunContext, returning the
+     * StreamingStatistics with the waiting time percentiles.
+     *
+     * @param humanNum Number of human Servers.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @param customerNum Number of typical Customers.
+     * @param restProb Probability of a Server resting.
+     * @param selfCheckNum Number of self-checkout Servers.
+     * @param greedyCustomers Number of greedy customers.
+     * @param options RunOptions for the simulation.
+     * @param context RunContext owning the random values and output of the simulation.
+     * @return StreamingStatistics of the simulation.
+     */
+    public static StreamingStatistics executeStreaming(int humanNum, int qMax, int customerNum,
+                                                       double restProb, int selfCheckNum,
+                                                       double greedyCustomers,
+                                                       RunOptions options, RunContext context) {
+        ServerTable servers = createServers(humanNum, selfCheckNum, options.getServerEngine(),
+                qMax);
+        Shop shop = new Shop(servers, restProb, options, context);
+        return shop.simulateStreaming(makeCustomers(customerNum, greedyCustomers, context,
+                options.getSteadyStateHorizon()), qMax);
     }
 
     /**
      * Simulates the discrete Events based on this Shop's
-     * List of Servers and a given PriorityQueue of Events,
-     * and prints (i) state changes with timings, and (ii)
+     * List of Servers and a given ArrivalStream of Events,
+     * and prints (i) state changes with timings, through the
+     * TraceSink chosen by the RunOptions, and (ii)
      * Statistics for the average waiting time, number of Customers
      * served, and the number of Customers who left without being served.
+     * Only the next arrival is kept in the pending Events, so
+     * the queue holds the in-flight Events rather than every Customer.
+     * Polled Events are moved to their next state in place and
+     * recycled through an EventPool once they are finished with.
      *
-     * @param eventQueue PriorityQueue of Events.
+     * @param arrivals ArrivalStream of ARRIVES Events.
      * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @return Statistics of the simulation.
      */
-    public void simulate(PriorityQueue<Event> eventQueue, int qMax) {
-        Statistics statistics = Statistics.createStatistics(eventQueue.size());
+    public Statistics simulate(ArrivalStream arrivals, int qMax) {
+        return this.simulateStreaming(arrivals, qMax).getStatistics();
+    }
+
+    /**
+     * Simulates the discrete Events like simulate, collecting the
+     * Statistics in a StreamingStatistics object updated in place,
+     * which also counts the waiting times of the served Customers
+     * and keeps the ServerMetrics of the Servers. The percentiles
+     * and the table of ServerMetrics are printed after the Statistics
+     * if the RunOptions ask for them. With a PrecisionTarget, no more
+     * Customers arrive once it is met, the Customers already in the
+     * Shop are still served, and the SequentialEstimate is printed.
+     * With a steady-state horizon, the SteadyStateEstimate is printed.
+     *
+     * @param arrivals ArrivalStream of ARRIVES Events.
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     * @return StreamingStatistics of the simulation.
+     */
+    public StreamingStatistics simulateStreaming(ArrivalStream arrivals, int qMax) {
+        EventQueue eventQueue = EventQueue.createEventQueue(this.options.getEventQueueType(),
+                this.makeComparator());
+        StreamingStatistics collector = StreamingStatistics.createStreamingStatistics(
+                arrivals.size());
+        this.indexServers(qMax);
+        EventPool pool = EventPool.createEventPool();
+        if (arrivals.hasNext()) {
+            eventQueue.offer(arrivals.next(pool));
+        }
         int idleIdx;
         int emptyIdx;
         int greedyIdx;
+        ServerMetrics metrics = ServerMetrics.createServerMetrics(this.servers);
+        PrecisionTarget target = this.options.getPrecisionTarget();
+        SequentialEstimate estimate = target == null ? null
+            : SequentialEstimate.createEstimate(target);
+        SteadyStateEstimate steadyState = this.options.getSteadyStateHorizon() > 0
+            ? SteadyStateEstimate.createEstimate() : null;
+        double now = 0.0;
+        PrintStream out = this.context.getOut();
+        TraceSink trace = TraceSink.createTraceSink(this.options.getTraceType(), out,
+                this.options.getTraceFile(), this.options.isTraceIndexed());
         while (!eventQueue.isEmpty()) {
             Event event = eventQueue.poll();
+            now = event.getTime();
             if (!event.isState(Event.SERVER_BACK) && !event.isState(Event.SERVER_REST)) {
-                System.out.println(event);
+                trace.trace(event);
             }
             boolean keep = true;
             if (event.isState(Event.ARRIVES)) {
-                if (event.getCustomer() instanceof GreedyCustomer) {
+                if (arrivals.hasNext()) {
+                    eventQueue.offer(arrivals.next(pool));
+                }
+                if (event.isGreedy()) {
                     greedyIdx = this.greedyServerSearch(qMax);
-                    if (greedyIdx != Shop.DOES_NOT_EXIST &&
-                            this.serverList.get(greedyIdx).isIdle()) {
-                        this.serverList.set(greedyIdx, this.serverList.get(greedyIdx).setBusy());
-                        event = event.serve(this.serverList.get(greedyIdx));
-                        statistics = statistics.incrementServed();
+                    if (greedyIdx != Shop.DOES_NOT_EXIST && this.servers.isIdle(greedyIdx)) {
+                        this.servers.setBusy(greedyIdx);
+                        this.serverIndex.update(greedyIdx);
+                        metrics.setState(greedyIdx, ServerMetrics.BUSY, now);
+                        event.setServed(greedyIdx, this.servers.isSelfCheck(greedyIdx));
+                        collector.recordServed();
                     } else if (greedyIdx > Shop.DOES_NOT_EXIST) {
-                        Customer toQueue = event.getCustomer();
-                        this.serverList.set(greedyIdx,
-                                this.serverList.get(greedyIdx).addCustomer(toQueue).setBusy());
-                        event = event.waits(this.serverList.get(greedyIdx));
+                        this.servers.addCustomer(greedyIdx, event.getCustomerId(), event.getTime(),
+                                event.isGreedy());
+                        this.servers.setBusy(greedyIdx);
+                        this.serverIndex.update(greedyIdx);
+                        metrics.addToQueue(greedyIdx, now);
+                        event.setWaits(greedyIdx, this.servers.isSelfCheck(greedyIdx));
                     } else {
-                        event = event.leaves();
+                        event.setLeaves();
                     }
                 } else {
                     idleIdx = this.findIdleServer();
-                    emptyIdx = this.findFirstWithRoom(qMax);
+                    emptyIdx = this.findFirstWithRoom();
                     if (idleIdx != Shop.DOES_NOT_EXIST) {
-                        this.serverList.set(idleIdx, this.serverList.get(idleIdx).setBusy());
-                        event = event.serve(this.serverList.get(idleIdx));
-                        statistics = statistics.incrementServed();
+                        this.servers.setBusy(idleIdx);
+                        this.serverIndex.update(idleIdx);
+                        metrics.setState(idleIdx, ServerMetrics.BUSY, now);
+                        event.setServed(idleIdx, this.servers.isSelfCheck(idleIdx));
+                        collector.recordServed();
                     } else if (emptyIdx != Shop.DOES_NOT_EXIST) {
-                        Customer toQueue = event.getCustomer();
-                        this.serverList.set(emptyIdx,
-                                this.serverList.get(emptyIdx).addCustomer(toQueue).setBusy());
-                        event = event.waits(this.serverList.get(emptyIdx));
+                        this.servers.addCustomer(emptyIdx, event.getCustomerId(), event.getTime(),
+                                event.isGreedy());
+                        this.servers.setBusy(emptyIdx);
+                        this.serverIndex.update(emptyIdx);
+                        metrics.addToQueue(emptyIdx, now);
+                        event.setWaits(emptyIdx, this.servers.isSelfCheck(emptyIdx));
                     } else {
-                        event = event.leaves();
+                        event.setLeaves();
                     }
                 }
+                if (estimate != null && estimate.addArrival(event.getState())) {
+                    arrivals.stop();
+                }
+                if (steadyState != null) {
+                    steadyState.addArrival(event.getState());
+                }
             } else if (event.isState(Event.SERVED)) {
-                event = event.done().addTime(Event.serveTimeSupp.get());
+                event.setDone(this.context.genServiceTime(event.getCustomerId()));
             } else if (event.isState(Event.DONE)) {
                 int serverIdx = event.serverListIndex();
                 double doneTime = event.getTime();
-                if (!(this.serverList.get(serverIdx) instanceof SelfCheckServer) &&
-                        Event.randRestSupp.get() < this.restProb) {
-                    double restPeriod = Event.restPeriodSupp.get();
-                    Event restEvent = Event.createEvent(null, doneTime)
-                            .serverRests(this.serverList.get(serverIdx)).serverBack(restPeriod);
-                    this.serverList.set(serverIdx, this.serverList.get(serverIdx).startRest());
-                    eventQueue.offer(restEvent);
-                } else if (this.serverList.get(serverIdx).isEmptyQueue()) {
-                    this.serverList.set(serverIdx, this.serverList.get(serverIdx).setFree());
+                if (!this.servers.isSelfCheck(serverIdx) &&
+                        this.context.genRandomRest(serverIdx) < this.restProb) {
+                    double restPeriod = this.context.genRestPeriod(serverIdx);
+                    this.servers.startRest(serverIdx);
+                    metrics.setState(serverIdx, ServerMetrics.RESTING, doneTime);
+                    eventQueue.offer(event.setServerBack(serverIdx, doneTime, restPeriod));
+                } else if (this.servers.isEmptyQueue(serverIdx)) {
+                    this.servers.setFree(serverIdx);
+                    metrics.setState(serverIdx, ServerMetrics.IDLE, doneTime);
+                    pool.release(event);
                 } else {
-                    Customer newCustomer = this.serverList.get(serverIdx).removeHead();
-                    Event newEvent = Event.createEvent(newCustomer, doneTime)
-                            .serve(this.serverList.get(serverIdx));
-                    this.serverList.set(serverIdx, this.serverList.get(serverIdx).setBusy());
-                    eventQueue.offer(newEvent);
-                    statistics = statistics.incrementServed()
-                            .addWaitTime(doneTime - newCustomer.getTime());
+                    double waitedSince = this.servers.headTime(serverIdx);
+                    event.reset(this.servers.headId(serverIdx), waitedSince,
+                            this.servers.isHeadGreedy(serverIdx), doneTime)
+                            .setServed(serverIdx, this.servers.isSelfCheck(serverIdx));
+                    this.servers.removeHead(serverIdx);
+                    this.servers.setBusy(serverIdx);
+                    eventQueue.offer(event);
+                    metrics.removeFromQueue(serverIdx, doneTime);
+                    collector.recordServed(doneTime - waitedSince);
+                    if (estimate != null && estimate.addServed(doneTime - waitedSince)) {
+                        arrivals.stop();
+                    }
+                    if (steadyState != null) {
+                        steadyState.addServed(doneTime - waitedSince);
+                    }
                 }
+                this.serverIndex.update(serverIdx);
                 keep = false;
             } else if (event.isState(Event.SERVER_BACK)) {
                 int serverIdx = event.serverListIndex();
                 double serveTime = event.getTime();
-                this.serverList.set(serverIdx, this.serverList.get(serverIdx).stopRest());
-                if (!this.serverList.get(serverIdx).isEmptyQueue()) {
-                    Customer newCustomer = this.serverList.get(serverIdx).removeHead();
-                    Event newEvent = Event.createEvent(newCustomer, serveTime)
-                            .serve(this.serverList.get(serverIdx));
-                    this.serverList.set(serverIdx, this.serverList.get(serverIdx).setBusy());
-                    eventQueue.offer(newEvent);
-                    statistics = statistics.incrementServed()
-                            .addWaitTime(serveTime - newCustomer.getTime());
+                this.servers.stopRest(serverIdx);
+                if (!this.servers.isEmptyQueue(serverIdx)) {
+                    double waitedSince = this.servers.headTime(serverIdx);
+                    event.reset(this.servers.headId(serverIdx), waitedSince,
+                            this.servers.isHeadGreedy(serverIdx), serveTime)
+                            .setServed(serverIdx, this.servers.isSelfCheck(serverIdx));
+                    this.servers.removeHead(serverIdx);
+                    this.servers.setBusy(serverIdx);
+                    eventQueue.offer(event);
+                    metrics.removeFromQueue(serverIdx, serveTime);
+                    metrics.setState(serverIdx, ServerMetrics.BUSY, serveTime);
+                    collector.recordServed(serveTime - waitedSince);
+                    if (estimate != null && estimate.addServed(serveTime - waitedSince)) {
+                        arrivals.stop();
+                    }
+                    if (steadyState != null) {
+                        steadyState.addServed(serveTime - waitedSince);
+                    }
                 } else {
-                    this.serverList.set(serverIdx, this.serverList.get(serverIdx).setFree());
+                    this.servers.setFree(serverIdx);
+                    metrics.setState(serverIdx, ServerMetrics.IDLE, serveTime);
+                    pool.release(event);
                 }
+                this.serverIndex.update(serverIdx);
                 keep = false;
             } else {
+                pool.release(event);
                 keep = false;
             }
             if (keep) {
                 eventQueue.offer(event);
             }
         }
-        System.out.println(statistics);
+        metrics.finish(now);
+        collector.setServerMetrics(metrics);
+        collector.setTotalSize(arrivals.size());
+        Statistics statistics = collector.getStatistics();
+        trace.statistics(statistics);
+        trace.close();
+        out.println(statistics);
+        if (this.options.isWaitPercentilesPrinted()) {
+            out.println(collector.percentiles());
+        }
+        if (this.options.isServerMetricsPrinted()) {
+            out.println(metrics);
+        }
+        if (estimate != null) {
+            out.println(estimate);
+        }
+        if (steadyState != null) {
+            out.println(steadyState);
+        }
+        return collector;
+    }
+
+    /**
+     * Creates the Comparator ranking Events in the EventQueue,
+     * based on this Shop's RunOptions.
+     *
+     * @return Comparator ranking Events.
+     */
+    private Comparator<Event> makeComparator() {
+        int keys = this.options.getEventKeys();
+        if (keys == RunOptions.PACKED_KEYS) {
+            return PackedEventComparator.createComparator(false);
+        } else if (keys == RunOptions.FIXED_POINT_KEYS) {
+            return PackedEventComparator.createComparator(true);
+        } else {
+            return new EventComparator();
+        }
+    }
+
+    /**
+     * Builds the ServerIndex of this Shop's Servers in their
+     * current state.
+     *
+     * @param qMax Maximum number of waiting Customers in a Server queue.
+     */
+    void indexServers(int qMax) {
+        this.serverIndex = ServerIndex.createServerIndex(this.servers, qMax,
+                this.options.getGreedySampleSize());
     }
 
     /**
      * Finds the List index of the first Server with room
      * in their waiting queue.
      *
-     * @param limit Maximum queue limit for a Server.
      * @return List index of the first Server with room in their waiting queue.
      */
-    private int findFirstWithRoom(int limit) {
-        for (int i = 0; i < this.serverList.size(); i++) {
-            if (!this.serverList.get(i).isFull(limit)) {
-                return i;
-            }
-        }
-        return Shop.DOES_NOT_EXIST;
+    private int findFirstWithRoom() {
+        return this.serverIndex.findFirstWithRoom();
     }
 
     /**
@@ -219,14 +456,8 @@ public class Shop {
      *
      * @return List index of the first idle Server.
      */
-    private int findIdleServer() {
-        for (int i = 0; i < this.serverList.size(); i++) {
-            if (this.serverList.get(i).isIdle() && this.serverList.get(i).isEmptyQueue() &&
-                    !this.serverList.get(i).isResting()) {
-                return i;
-            }
-        }
-        return Shop.DOES_NOT_EXIST;
+    int findIdleServer() {
+        return this.serverIndex.findIdleServer();
     }
 
     /**
@@ -236,21 +467,10 @@ public class Shop {
      * @param qMax Maximum number of waiting Customers in a Server queue.
      * @return List index of the Server with the shortest waiting queue.
      */
-    private int greedyServerSearch(int qMax) {
+    int greedyServerSearch(int qMax) {
         int idleIdx = this.findIdleServer();
         if (idleIdx == Shop.DOES_NOT_EXIST) {
-            int lowest = qMax - 1;
-            for (Server server : this.serverList) {
-                if (server.genQueueSize() < lowest) {
-                    lowest = server.genQueueSize();
-                }
-            }
-            for (int i = 0; i < this.serverList.size(); i++) {
-                if (this.serverList.get(i).genQueueSize() == lowest) {
-                    return i;
-                }
-            }
-            return Shop.DOES_NOT_EXIST;
+            return this.serverIndex.findShortestQueue();
         } else {
             return idleIdx;
         }
@@ -48,6 +48,20 @@ public class Statistics {
         return new Statistics(totalSize);
     }
 
+    /**
+     * Creates a new Statistics object with the given totals,
+     * such as those collected by a StreamingStatistics object.
+     *
+     * @param totalWaitTime Total wait time from every waiting Customer.
+     * @param totalServed Total Customers served.
+     * @param totalSize Number of Customers at the start of the simulation.
+     * @return New Statistics object.
+     */
+    public static Statistics createStatistics(double totalWaitTime, int totalServed,
+                                              int totalSize) {
+        return new Statistics(totalWaitTime, totalServed, totalSize);
+    }
+
     /**
      * Increments the totalServed attribute of this 
      * Statistics object and returns a new Statistics object.
@@ -89,6 +103,44 @@ public class Statistics {
         return this.totalSize - this.totalServed;
     }
 
+    /**
+     * Returns the average wait time of the served Customers, or
+     * 0 if no Customer was served.
+     *
+     * @return Average waiting time of served Customers.
+     */
+    public double getAverageWaitTime() {
+        return this.totalServed == 0 ? 0.0 : this.avgWaitTime();
+    }
+
+    /**
+     * Returns the total waiting time of the served Customers.
+     *
+     * @return Total waiting time.
+     */
+    public double getTotalWaitTime() {
+        return this.totalWaitTime;
+    }
+
+    /**
+     * Returns the number of Customers served.
+     *
+     * @return Number of Customers served.
+     */
+    public int getServed() {
+        return this.totalServed;
+    }
+
+    /**
+     * Returns the number of Customers who left without
+     * getting served.
+     *
+     * @return Number of Customers who left without getting served.
+     */
+    public int getLeft() {
+        return this.leftCustomers();
+    }
+
     /**
      * Creates a String based on this Statistics object's 
      * attributes and methods.
@@ -0,0 +1,87 @@
+package cs2030.simulator;
+
+import cs2030.simulator.BatchSeries;
+import cs2030.simulator.Event;
+
+/**
+ * SteadyStateEstimate class to estimate the steady-state average
+ * waiting time and share of Customers who leave from a single long
+ * run, by following each as a BatchSeries in the order the Customers
+ * are served or arrive.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class SteadyStateEstimate {
+    private final BatchSeries waitTimes;
+    private final BatchSeries leftShares;
+
+    /**
+     * Constructs an empty SteadyStateEstimate.
+     */
+    private SteadyStateEstimate() {
+        this.waitTimes = BatchSeries.createBatchSeries();
+        this.leftShares = BatchSeries.createBatchSeries();
+    }
+
+    /**
+     * Creates an empty SteadyStateEstimate.
+     *
+     * @return New SteadyStateEstimate.
+     */
+    public static SteadyStateEstimate createEstimate() {
+        return new SteadyStateEstimate();
+    }
+
+    /**
+     * Records the outcome of an ARRIVES Event: whether the Customer
+     * left, and a waiting time of 0 if the Customer was served on
+     * arrival.
+     *
+     * @param state State of the Event after its arrival was handled.
+     */
+    public void addArrival(int state) {
+        this.leftShares.add(state == Event.LEAVES ? 1.0 : 0.0);
+        if (state == Event.SERVED) {
+            this.waitTimes.add(0.0);
+        }
+    }
+
+    /**
+     * Records a Customer served after waiting.
+     *
+     * @param waitTime Time the Customer waited.
+     */
+    public void addServed(double waitTime) {
+        this.waitTimes.add(waitTime);
+    }
+
+    /**
+     * Returns the BatchSeries of the waiting times of served Customers.
+     *
+     * @return BatchSeries of the waiting times.
+     */
+    public BatchSeries getWaitTimes() {
+        return this.waitTimes;
+    }
+
+    /**
+     * Returns the BatchSeries of whether arriving Customers left.
+     *
+     * @return BatchSeries of 1 for a Customer who left and 0 otherwise.
+     */
+    public BatchSeries getLeftShares() {
+        return this.leftShares;
+    }
+
+    /**
+     * Returns a String with a line per measure.
+     *
+     * @return String based on this SteadyStateEstimate.
+     */
+    @Override
+    public String toString() {
+        return "[steady-state wait " + this.waitTimes + "]\n" +
+            "[steady-state left " + this.leftShares + "]";
+    }
+}
@@ -0,0 +1,208 @@
+package cs2030.simulator;
+
+import cs2030.simulator.ServerMetrics;
+import cs2030.simulator.Statistics;
+import cs2030.simulator.WaitTimeHistogram;
+
+/**
+ * StreamingStatistics class to collect the statistics of a
+ * simulation as it runs, in place and in constant memory.
+ *
+ * <p>Besides the totals behind Statistics, the waiting time of
+ * every served Customer (0 for those served on arrival) is counted
+ * in a WaitTimeHistogram, from which its quantiles are read.
+ * The ServerMetrics of the run are kept alongside. Collectors of
+ * separate runs can be merged.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class StreamingStatistics {
+    private final WaitTimeHistogram waitTimes;
+    private double totalWaitTime;
+    private int totalServed;
+    private int totalSize;
+    private ServerMetrics serverMetrics;
+
+    /**
+     * Constructs a StreamingStatistics object.
+     *
+     * @param totalSize Number of Customers at the start of the simulation.
+     */
+    private StreamingStatistics(int totalSize) {
+        this.waitTimes = WaitTimeHistogram.createHistogram();
+        this.totalWaitTime = 0;
+        this.totalServed = 0;
+        this.totalSize = totalSize;
+        this.serverMetrics = null;
+    }
+
+    /**
+     * Creates an empty StreamingStatistics object for a simulation
+     * of the given number of Customers.
+     *
+     * @param totalSize Number of Customers at the start of the simulation.
+     * @return New StreamingStatistics object.
+     */
+    public static StreamingStatistics createStreamingStatistics(int totalSize) {
+        return new StreamingStatistics(totalSize);
+    }
+
+    /**
+     * Records a Customer served on arrival, without waiting.
+     */
+    public void recordServed() {
+        this.totalServed++;
+        this.waitTimes.add(0.0);
+    }
+
+    /**
+     * Records a Customer served after waiting.
+     *
+     * @param waitTime Time the Customer waited.
+     */
+    public void recordServed(double waitTime) {
+        this.totalServed++;
+        this.totalWaitTime += waitTime;
+        this.waitTimes.add(waitTime);
+    }
+
+    /**
+     * Adds the Customers of another StreamingStatistics object to
+     * this one.
+     *
+     * @param other StreamingStatistics object to add.
+     */
+    public void merge(StreamingStatistics other) {
+        this.waitTimes.merge(other.waitTimes);
+        this.totalWaitTime += other.totalWaitTime;
+        this.totalServed += other.totalServed;
+        this.totalSize += other.totalSize;
+        if (this.serverMetrics == null) {
+            this.serverMetrics = other.serverMetrics == null ? null : other.serverMetrics.copy();
+        } else if (other.serverMetrics != null) {
+            this.serverMetrics.merge(other.serverMetrics);
+        }
+    }
+
+    /**
+     * Sets the number of Customers of the simulation, for a run
+     * stopped before all of its Customers arrived.
+     *
+     * @param totalSize Number of Customers who arrived.
+     */
+    void setTotalSize(int totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    /**
+     * Keeps the ServerMetrics of the run.
+     *
+     * @param metrics ServerMetrics of the run.
+     */
+    void setServerMetrics(ServerMetrics metrics) {
+        this.serverMetrics = metrics;
+    }
+
+    /**
+     * Returns the ServerMetrics of the run, merged over the runs
+     * added to this one.
+     *
+     * @return ServerMetrics of the run, or null if there are none.
+     */
+    public ServerMetrics getServerMetrics() {
+        return this.serverMetrics;
+    }
+
+    /**
+     * Returns the number of Customers served.
+     *
+     * @return Number of Customers served.
+     */
+    public int getServed() {
+        return this.totalServed;
+    }
+
+    /**
+     * Returns the number of Customers who left without
+     * getting served.
+     *
+     * @return Number of Customers who left without getting served.
+     */
+    public int getLeft() {
+        return this.totalSize - this.totalServed;
+    }
+
+    /**
+     * Returns the share of Customers who left without getting
+     * served.
+     *
+     * @return Fraction of the Customers who left, or 0 if there were none.
+     */
+    public double getLeftShare() {
+        return this.totalSize == 0 ? 0.0 : this.getLeft() / (double) this.totalSize;
+    }
+
+    /**
+     * Returns the average wait time of the served Customers, or
+     * 0 if no Customer was served.
+     *
+     * @return Average waiting time of served Customers.
+     */
+    public double getAverageWaitTime() {
+        return this.getStatistics().getAverageWaitTime();
+    }
+
+    /**
+     * Returns the waiting time below or at which the given fraction
+     * of the served Customers waited.
+     *
+     * @param fraction Fraction in [0, 1].
+     * @return Quantile of the waiting times, or NaN if no Customer was served.
+     */
+    public double waitTimeQuantile(double fraction) {
+        return this.waitTimes.quantile(fraction);
+    }
+
+    /**
+     * Returns the WaitTimeHistogram of the served Customers.
+     *
+     * @return WaitTimeHistogram of the waiting times.
+     */
+    public WaitTimeHistogram getWaitTimes() {
+        return this.waitTimes;
+    }
+
+    /**
+     * Returns the Statistics with the same totals, whose String is
+     * the usual [average served left] line.
+     *
+     * @return Statistics of the Customers recorded so far.
+     */
+    public Statistics getStatistics() {
+        return Statistics.createStatistics(this.totalWaitTime, this.totalServed, this.totalSize);
+    }
+
+    /**
+     * Creates a String with the 50th, 90th, 99th and 99.9th
+     * percentiles of the waiting times and the share of Customers
+     * who left.
+     *
+     * @return String of the waiting time percentiles and the left share.
+     */
+    public String percentiles() {
+        return String.format("[p50 %.3f p90 %.3f p99 %.3f p99.9 %.3f left %.4f]",
+                this.waitTimeQuantile(0.5), this.waitTimeQuantile(0.9),
+                this.waitTimeQuantile(0.99), this.waitTimeQuantile(0.999), this.getLeftShare());
+    }
+
+    /**
+     * Creates the same String as the Statistics with the same totals.
+     *
+     * @return String based on this StreamingStatistics object's totals.
+     */
+    @Override
+    public String toString() {
+        return this.getStatistics().toString();
+    }
+}
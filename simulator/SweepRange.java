@@ -0,0 +1,120 @@
+package cs2030.simulator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * SweepRange class to hold the values one simulation input takes
+ * in a ParameterSweep.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class SweepRange {
+    private final double[] values;
+
+    /**
+     * Constructs a SweepRange.
+     *
+     * @param values The values of the range, in sweep order.
+     */
+    private SweepRange(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Creates a SweepRange of the given values.
+     *
+     * @param values The values of the range, in sweep order.
+     * @return New SweepRange.
+     */
+    public static SweepRange createRange(double... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Empty sweep range");
+        }
+        return new SweepRange(Arrays.copyOf(values, values.length));
+    }
+
+    /**
+     * Creates a SweepRange from a start value to an end value,
+     * both inclusive, in steps of a given size. The values are
+     * computed in decimal, so that each is the double closest to
+     * from + i * step as written, such as 0.3 rather than
+     * 0.30000000000000004.
+     *
+     * @param from The first value.
+     * @param to The last value.
+     * @param step The difference between neighbouring values.
+     * @return New SweepRange.
+     */
+    public static SweepRange createRange(double from, double to, double step) {
+        if (step <= 0 || to < from) {
+            throw new IllegalArgumentException("Invalid sweep range " + from + ":" + to +
+                    ":" + step);
+        }
+        BigDecimal start = BigDecimal.valueOf(from);
+        BigDecimal size = BigDecimal.valueOf(step);
+        int count = BigDecimal.valueOf(to).subtract(start)
+            .divide(size, 0, RoundingMode.FLOOR).intValueExact() + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = start.add(size.multiply(BigDecimal.valueOf(i))).doubleValue();
+        }
+        return new SweepRange(values);
+    }
+
+    /**
+     * Parses a SweepRange from a single value "v", a list of
+     * values "a,b,c" or an inclusive range "from:to:step".
+     *
+     * @param spec String describing the range.
+     * @return New SweepRange.
+     */
+    public static SweepRange parseRange(String spec) {
+        if (spec.indexOf(':') >= 0) {
+            String[] parts = spec.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid sweep range: " + spec);
+            }
+            return SweepRange.createRange(Double.parseDouble(parts[0]),
+                    Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+        }
+        String[] parts = spec.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i]);
+        }
+        return SweepRange.createRange(values);
+    }
+
+    /**
+     * Returns the number of values in this SweepRange.
+     *
+     * @return Number of values.
+     */
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * Returns a value of this SweepRange.
+     *
+     * @param i Position of the value.
+     * @return The value at the position.
+     */
+    public double get(int i) {
+        return this.values[i];
+    }
+
+    /**
+     * Returns a value of this SweepRange rounded to an int,
+     * for the integer simulation inputs.
+     *
+     * @param i Position of the value.
+     * @return The value at the position as an int.
+     */
+    public int getInt(int i) {
+        return (int) Math.round(this.values[i]);
+    }
+}
@@ -0,0 +1,212 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TraceIndex class to look up the lines of a text trace by
+ * Customer Id or Server without scanning the trace.
+ *
+ * <p>An index file is written by TraceIndexBuilder alongside the
+ * trace. Looking up a Customer reads two directory entries and the
+ * Customer's offsets from the index, then reads each line from the
+ * trace at its offset, so the cost does not grow with the trace.
+ *
+ * <p>Usage: {@code java cs2030.simulator.TraceIndex trace.txt customerId},
+ * with the index in trace.txt.idx.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class TraceIndex {
+    public static final int MAGIC = 0x44455349;
+    public static final int VERSION = 1;
+    public static final String SUFFIX = ".idx";
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_LINE = 256;
+    private final FileChannel index;
+    private final FileChannel trace;
+    private final int customers;
+    private final int servers;
+    private final long customerOffsetsStart;
+    private final long serverDirectoryStart;
+    private final long serverOffsetsStart;
+
+    /**
+     * Constructs a TraceIndex.
+     *
+     * @param index FileChannel of the index file.
+     * @param trace FileChannel of the trace file.
+     * @throws IOException If the index cannot be read.
+     */
+    private TraceIndex(FileChannel index, FileChannel trace) throws IOException {
+        this.index = index;
+        this.trace = trace;
+        ByteBuffer header = TraceIndex.read(index, 0, TraceIndex.HEADER_BYTES);
+        if (header.getInt() != TraceIndex.MAGIC || header.getInt() != TraceIndex.VERSION) {
+            throw new IOException("Not a trace index file");
+        }
+        this.customers = header.getInt();
+        this.servers = header.getInt();
+        this.customerOffsetsStart = TraceIndex.HEADER_BYTES + 8L * (this.customers + 1);
+        long customerLines = TraceIndex.read(index, this.customerOffsetsStart - 8, 8).getLong();
+        this.serverDirectoryStart = this.customerOffsetsStart + 8L * customerLines;
+        this.serverOffsetsStart = this.serverDirectoryStart + 8L * (this.servers + 1);
+    }
+
+    /**
+     * Opens a text trace and its index.
+     *
+     * @param traceFile Path of the trace file, whose index has the suffix SUFFIX.
+     * @return New TraceIndex of the trace.
+     */
+    public static TraceIndex open(Path traceFile) {
+        try {
+            Path indexFile = Paths.get(traceFile.toString() + TraceIndex.SUFFIX);
+            return new TraceIndex(FileChannel.open(indexFile, StandardOpenOption.READ),
+                    FileChannel.open(traceFile, StandardOpenOption.READ));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prints the trace lines of a Customer.
+     *
+     * @param args Path of the trace file and the Customer Id.
+     */
+    public static void main(String[] args) {
+        TraceIndex index = TraceIndex.open(Paths.get(args[0]));
+        for (String line : index.customerLines(Integer.parseInt(args[1]))) {
+            System.out.println(line);
+        }
+        index.close();
+    }
+
+    /**
+     * Reads a region of a file into a new ByteBuffer.
+     *
+     * @param channel FileChannel of the file.
+     * @param position Position of the region.
+     * @param length Size of the region.
+     * @return ByteBuffer holding what could be read of the region, ready to be read.
+     * @throws IOException If the file cannot be read.
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = channel.read(buffer, position + buffer.position());
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads a range of offsets given by two neighbouring directory
+     * entries.
+     *
+     * @param directoryStart Position of the directory.
+     * @param offsetsStart Position of the offsets the directory points into.
+     * @param key Entry of the directory.
+     * @return Offsets of the key, in file order.
+     */
+    private long[] offsets(long directoryStart, long offsetsStart, int key) {
+        try {
+            ByteBuffer entries = TraceIndex.read(this.index, directoryStart + 8L * key, 16);
+            long from = entries.getLong();
+            long to = entries.getLong();
+            ByteBuffer found = TraceIndex.read(this.index, offsetsStart + 8L * from,
+                    (int) (8 * (to - from)));
+            long[] result = new long[(int) (to - from)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = found.getLong();
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the byte offsets of the trace lines of a Customer.
+     *
+     * @param customerId Customer Id.
+     * @return Offsets of the Customer's lines, in file order.
+     */
+    public long[] customerOffsets(int customerId) {
+        if (customerId <= 0 || customerId >= this.customers) {
+            return new long[0];
+        }
+        return this.offsets(TraceIndex.HEADER_BYTES, this.customerOffsetsStart, customerId);
+    }
+
+    /**
+     * Returns the byte offsets of the trace lines of a Server.
+     *
+     * @param serverIdx List index of the Server.
+     * @return Offsets of the Server's lines, in file order.
+     */
+    public long[] serverOffsets(int serverIdx) {
+        if (serverIdx < 0 || serverIdx >= this.servers) {
+            return new long[0];
+        }
+        return this.offsets(this.serverDirectoryStart, this.serverOffsetsStart, serverIdx);
+    }
+
+    /**
+     * Returns the trace lines of a Customer, such as its arrival,
+     * waiting, service and departure.
+     *
+     * @param customerId Customer Id.
+     * @return Lines of the Customer, in file order.
+     */
+    public List<String> customerLines(int customerId) {
+        return this.lines(this.customerOffsets(customerId));
+    }
+
+    /**
+     * Reads the trace lines starting at given offsets.
+     *
+     * @param offsets Offsets of the lines.
+     * @return Lines at the offsets, without line separators.
+     */
+    public List<String> lines(long[] offsets) {
+        List<String> result = new ArrayList<>();
+        try {
+            for (long offset : offsets) {
+                ByteBuffer line = TraceIndex.read(this.trace, offset, TraceIndex.MAX_LINE);
+                int end = 0;
+                while (end < line.limit() && line.get(end) != '\n' && line.get(end) != '\r') {
+                    end++;
+                }
+                line.limit(end);
+                result.add(Charset.defaultCharset().decode(line).toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Closes the trace and index files.
+     */
+    public void close() {
+        try {
+            this.index.close();
+            this.trace.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package cs2030.simulator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import cs2030.simulator.TraceIndex;
+
+/**
+ * TraceIndexBuilder class to collect the byte offsets of the lines
+ * of a text trace while it is written, and save them as a
+ * TraceIndex file.
+ *
+ * <p>The file holds a header, a directory with the first entry of
+ * every Customer Id, the line offsets grouped by Customer Id, a
+ * directory with the first entry of every Server, and the line
+ * offsets grouped by Server. Customer Ids run from 1 to the number
+ * of Customers, so both groupings are made with a counting sort.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class TraceIndexBuilder {
+    private int[] customerIds;
+    private int[] serverIndices;
+    private long[] offsets;
+    private int size;
+    private int maxCustomerId;
+    private int maxServerIdx;
+
+    /**
+     * Constructs a TraceIndexBuilder.
+     */
+    private TraceIndexBuilder() {
+        this.customerIds = new int[1024];
+        this.serverIndices = new int[1024];
+        this.offsets = new long[1024];
+        this.size = 0;
+        this.maxCustomerId = 0;
+        this.maxServerIdx = -1;
+    }
+
+    /**
+     * Creates an empty TraceIndexBuilder.
+     *
+     * @return New TraceIndexBuilder.
+     */
+    public static TraceIndexBuilder createBuilder() {
+        return new TraceIndexBuilder();
+    }
+
+    /**
+     * Adds a trace line.
+     *
+     * @param customerId Customer Id of the line, or 0 if there is no Customer.
+     * @param serverIdx List index of the Server of the line, or -1 if there is none.
+     * @param offset Byte offset of the line in the trace file.
+     */
+    public void add(int customerId, int serverIdx, long offset) {
+        if (this.size == this.offsets.length) {
+            int capacity = this.size * 2;
+            this.customerIds = Arrays.copyOf(this.customerIds, capacity);
+            this.serverIndices = Arrays.copyOf(this.serverIndices, capacity);
+            this.offsets = Arrays.copyOf(this.offsets, capacity);
+        }
+        this.customerIds[this.size] = customerId;
+        this.serverIndices[this.size] = serverIdx;
+        this.offsets[this.size] = offset;
+        this.size++;
+        this.maxCustomerId = Math.max(this.maxCustomerId, customerId);
+        this.maxServerIdx = Math.max(this.maxServerIdx, serverIdx);
+    }
+
+    /**
+     * Saves the index to a file.
+     *
+     * @param file Path of the index file, which is replaced if it exists.
+     */
+    public void write(Path file) {
+        int customers = this.maxCustomerId + 1;
+        int servers = this.maxServerIdx + 1;
+        long[] customerStarts = new long[customers + 1];
+        long[] serverStarts = new long[servers + 1];
+        for (int i = 0; i < this.size; i++) {
+            customerStarts[this.customerIds[i] + 1]++;
+            if (this.serverIndices[i] >= 0) {
+                serverStarts[this.serverIndices[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < customers; i++) {
+            customerStarts[i + 1] += customerStarts[i];
+        }
+        for (int i = 0; i < servers; i++) {
+            serverStarts[i + 1] += serverStarts[i];
+        }
+        long[] byCustomer = TraceIndexBuilder.group(this.customerIds, customerStarts,
+                this.offsets, this.size);
+        long[] byServer = TraceIndexBuilder.group(this.serverIndices, serverStarts,
+                this.offsets, this.size);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(TraceIndex.MAGIC);
+            out.writeInt(TraceIndex.VERSION);
+            out.writeInt(customers);
+            out.writeInt(servers);
+            for (long start : customerStarts) {
+                out.writeLong(start);
+            }
+            for (long offset : byCustomer) {
+                out.writeLong(offset);
+            }
+            for (long start : serverStarts) {
+                out.writeLong(start);
+            }
+            for (long offset : byServer) {
+                out.writeLong(offset);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Groups the offsets by key with a counting sort, keeping them
+     * in file order within each key. Negative keys are left out.
+     *
+     * @param keys Key of each line.
+     * @param starts First entry of each key, with one more entry for the end.
+     * @param offsets Offset of each line.
+     * @param size Number of lines.
+     * @return Offsets grouped by key.
+     */
+    private static long[] group(int[] keys, long[] starts, long[] offsets, int size) {
+        long[] grouped = new long[(int) starts[starts.length - 1]];
+        int[] next = new int[starts.length - 1];
+        for (int k = 0; k < next.length; k++) {
+            next[k] = (int) starts[k];
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] >= 0) {
+                grouped[next[keys[i]]++] = offsets[i];
+            }
+        }
+        return grouped;
+    }
+}
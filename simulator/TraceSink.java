@@ -0,0 +1,142 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import cs2030.simulator.AsyncTraceSink;
+import cs2030.simulator.BinaryTraceSink;
+import cs2030.simulator.BufferedTraceSink;
+import cs2030.simulator.Event;
+import cs2030.simulator.NullTraceSink;
+import cs2030.simulator.PrintTraceSink;
+import cs2030.simulator.Statistics;
+
+/**
+ * TraceSink interface for the trace of a simulation: the line
+ * printed for every Event other than a Server resting or coming
+ * back. The final Statistics line is not part of the trace.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public interface TraceSink {
+    int PRINT = 0;
+    int NONE = 1;
+    int BUFFERED = 2;
+    int ASYNC = 3;
+    int BINARY = 4;
+
+    /**
+     * Records the trace line of an Event.
+     *
+     * @param event Event to record.
+     */
+    void trace(Event event);
+
+    /**
+     * Writes out any trace lines that are still held back.
+     */
+    void flush();
+
+    /**
+     * Receives the Statistics printed after the trace. Only
+     * TraceSinks that save the whole output keep them.
+     *
+     * @param statistics Statistics of the simulation.
+     */
+    default void statistics(Statistics statistics) {
+    }
+
+    /**
+     * Writes out any trace lines that are still held back and
+     * releases what this TraceSink holds. No Events may be
+     * recorded afterwards.
+     */
+    void close();
+
+    /**
+     * Creates a TraceSink of the given type. An ASYNC TraceSink
+     * needs a second processor for its writer thread, so with a
+     * single processor a BUFFERED one is created instead.
+     *
+     * @param type One of the TraceSink type constants.
+     * @param out PrintStream for the trace.
+     * @return New TraceSink of the given type.
+     */
+    static TraceSink createTraceSink(int type, PrintStream out) {
+        return TraceSink.createTraceSink(type, out, null);
+    }
+
+    /**
+     * Creates a TraceSink of the given type, saving the trace to
+     * a file if one is given. BINARY TraceSinks need a file, and
+     * PRINT, BUFFERED and ASYNC ones write their text to it instead
+     * of the PrintStream. NONE TraceSinks ignore the file.
+     *
+     * @param type One of the TraceSink type constants.
+     * @param out PrintStream for the trace.
+     * @param file Path of the trace file, or null.
+     * @return New TraceSink of the given type.
+     */
+    static TraceSink createTraceSink(int type, PrintStream out, String file) {
+        return TraceSink.createTraceSink(type, out, file, false);
+    }
+
+    /**
+     * Creates a TraceSink of the given type, saving the trace to
+     * a file if one is given, and a TraceIndex of a text trace file
+     * if asked to.
+     *
+     * @param type One of the TraceSink type constants.
+     * @param out PrintStream for the trace.
+     * @param file Path of the trace file, or null.
+     * @param indexed Indicator to determine if a TraceIndex of the trace file is saved.
+     * @return New TraceSink of the given type.
+     */
+    static TraceSink createTraceSink(int type, PrintStream out, String file, boolean indexed) {
+        if (type == TraceSink.BINARY) {
+            if (file == null) {
+                throw new IllegalArgumentException("Binary traces need a trace file");
+            }
+            return BinaryTraceSink.createTraceSink(Paths.get(file));
+        } else if ((type == TraceSink.PRINT || type == TraceSink.BUFFERED ||
+                type == TraceSink.ASYNC) && file != null) {
+            BufferedTraceSink writer = BufferedTraceSink.createTraceSink(Paths.get(file),
+                    indexed);
+            return type == TraceSink.ASYNC && Runtime.getRuntime().availableProcessors() > 1
+                ? AsyncTraceSink.createTraceSink(writer)
+                : writer;
+        } else if (type == TraceSink.NONE) {
+            return NullTraceSink.createTraceSink();
+        } else if (type == TraceSink.ASYNC && Runtime.getRuntime().availableProcessors() > 1) {
+            return AsyncTraceSink.createTraceSink(BufferedTraceSink.createTraceSink(out));
+        } else if (type == TraceSink.BUFFERED || type == TraceSink.ASYNC) {
+            return BufferedTraceSink.createTraceSink(out);
+        } else if (type == TraceSink.PRINT) {
+            return PrintTraceSink.createTraceSink(out);
+        } else {
+            throw new IllegalArgumentException("Unknown trace type: " + type);
+        }
+    }
+
+    /**
+     * Parses a TraceSink type from its name.
+     *
+     * @param name "print", "none", "buffered", "async" or "binary".
+     * @return One of the TraceSink type constants.
+     */
+    static int parseType(String name) {
+        if (name.equals("print")) {
+            return TraceSink.PRINT;
+        } else if (name.equals("none")) {
+            return TraceSink.NONE;
+        } else if (name.equals("buffered")) {
+            return TraceSink.BUFFERED;
+        } else if (name.equals("async")) {
+            return TraceSink.ASYNC;
+        } else if (name.equals("binary")) {
+            return TraceSink.BINARY;
+        } else {
+            throw new IllegalArgumentException("Unknown trace type: " + name);
+        }
+    }
+}
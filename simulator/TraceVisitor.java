@@ -0,0 +1,27 @@
+package cs2030.simulator;
+
+/**
+ * TraceVisitor interface for code receiving the trace lines of a
+ * simulation as the fields of their Events, such as a reader of
+ * a saved trace. BufferedTraceSink.trace has the same parameters,
+ * so it can render what a TraceVisitor is given.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+@FunctionalInterface
+public interface TraceVisitor {
+
+    /**
+     * Receives the trace line of one Event.
+     *
+     * @param time Time-stamp of the Event.
+     * @param state One of the Event state constants.
+     * @param customerId Customer Id, or 0 if there is no Customer.
+     * @param greedy Indicator to determine if the Customer is a GreedyCustomer.
+     * @param serverIdx List index of the Server, or -1 if there is none.
+     * @param selfCheck Indicator to determine if the Server is a SelfCheckServer.
+     */
+    void visit(double time, int state, int customerId, boolean greedy, int serverIdx,
+               boolean selfCheck);
+}
@@ -0,0 +1,291 @@
+package cs2030.simulator;
+
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import cs2030.simulator.Xoshiro256;
+
+/**
+ * VariateGenerator class to draw the random values of a simulation
+ * without the external RandomGenerator and without boxing.
+ *
+ * <p>Each of the five random values has its own stream, which
+ * fills a double[] block ahead of time and hands the values out
+ * through a DoubleSupplier. In the COMPATIBLE mode the streams
+ * are the ones of RandomGenerator: a java.util.Random per value,
+ * seeded seed to seed + 4 in the order arrival, service, rest,
+ * rest period and customer type, with exponential values drawn as
+ * -ln(u) / rate. In the FAST mode the streams are non-overlapping
+ * jumps of one Xoshiro256, with ziggurat exponential values. The
+ * KEYED mode draws from KeyedVariates instead, through RunContext.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class VariateGenerator {
+    public static final int EXTERNAL = 0;
+    public static final int COMPATIBLE = 1;
+    public static final int FAST = 2;
+    public static final int KEYED = 3;
+    private static final int BLOCK_SIZE = 256;
+    private final DoubleSupplier interArrivalTimes;
+    private final DoubleSupplier serviceTimes;
+    private final DoubleSupplier randomRests;
+    private final DoubleSupplier restPeriods;
+    private final DoubleSupplier customerTypes;
+
+    /**
+     * Inner class to hand out the values of a double[] block,
+     * filling it again once every value has been used.
+     */
+    private static class BlockStream implements DoubleSupplier {
+        private final double[] block;
+        private final Consumer<double[]> filler;
+        private int next;
+
+        /**
+         * Constructs a BlockStream.
+         *
+         * @param filler Consumer filling a block with the next values.
+         */
+        BlockStream(Consumer<double[]> filler) {
+            this.block = new double[VariateGenerator.BLOCK_SIZE];
+            this.filler = filler;
+            this.next = VariateGenerator.BLOCK_SIZE;
+        }
+
+        /**
+         * Returns the next value of the stream.
+         *
+         * @return The next value.
+         */
+        @Override
+        public double getAsDouble() {
+            if (this.next == this.block.length) {
+                this.filler.accept(this.block);
+                this.next = 0;
+            }
+            return this.block[this.next++];
+        }
+    }
+
+    /**
+     * Constructs a VariateGenerator.
+     *
+     * @param interArrivalTimes Stream of inter-arrival times.
+     * @param serviceTimes Stream of service times.
+     * @param randomRests Stream of values deciding if a Server rests.
+     * @param restPeriods Stream of rest periods.
+     * @param customerTypes Stream of values deciding if a Customer is greedy.
+     */
+    private VariateGenerator(DoubleSupplier interArrivalTimes, DoubleSupplier serviceTimes,
+                             DoubleSupplier randomRests, DoubleSupplier restPeriods,
+                             DoubleSupplier customerTypes) {
+        this.interArrivalTimes = interArrivalTimes;
+        this.serviceTimes = serviceTimes;
+        this.randomRests = randomRests;
+        this.restPeriods = restPeriods;
+        this.customerTypes = customerTypes;
+    }
+
+    /**
+     * Creates a VariateGenerator.
+     *
+     * @param mode COMPATIBLE or FAST.
+     * @param seed The seed.
+     * @param lambda The arrival rate.
+     * @param mu The service rate.
+     * @param rho The resting rate.
+     * @return New VariateGenerator based on the given seed and rates.
+     */
+    public static VariateGenerator createGenerator(int mode, int seed, double lambda, double mu,
+                                                   double rho) {
+        if (mode == VariateGenerator.COMPATIBLE) {
+            return new VariateGenerator(
+                    VariateGenerator.exponential(new Random(seed), lambda),
+                    VariateGenerator.exponential(new Random(seed + 1), mu),
+                    VariateGenerator.uniform(new Random(seed + 2)),
+                    VariateGenerator.exponential(new Random(seed + 3), rho),
+                    VariateGenerator.uniform(new Random(seed + 4)));
+        } else if (mode == VariateGenerator.FAST) {
+            Xoshiro256 random = Xoshiro256.createXoshiro256(seed);
+            return new VariateGenerator(
+                    VariateGenerator.exponential(random.split(), lambda),
+                    VariateGenerator.exponential(random.split(), mu),
+                    VariateGenerator.uniform(random.split()),
+                    VariateGenerator.exponential(random.split(), rho),
+                    VariateGenerator.uniform(random.split()));
+        } else {
+            throw new IllegalArgumentException("Unknown generator mode: " + mode);
+        }
+    }
+
+    /**
+     * Parses a generator mode from its name.
+     *
+     * @param name "external", "compatible", "fast" or "keyed".
+     * @return One of the mode constants.
+     */
+    public static int parseMode(String name) {
+        if (name.equals("external")) {
+            return VariateGenerator.EXTERNAL;
+        } else if (name.equals("compatible")) {
+            return VariateGenerator.COMPATIBLE;
+        } else if (name.equals("fast")) {
+            return VariateGenerator.FAST;
+        } else if (name.equals("keyed")) {
+            return VariateGenerator.KEYED;
+        } else {
+            throw new IllegalArgumentException("Unknown generator mode: " + name);
+        }
+    }
+
+    /**
+     * Creates a stream of exponential values drawn as RandomGenerator
+     * draws them.
+     *
+     * @param random Random for the stream.
+     * @param rate Rate of the exponential distribution.
+     * @return Stream of exponential values.
+     */
+    private static DoubleSupplier exponential(Random random, double rate) {
+        return new BlockStream(block -> {
+            for (int i = 0; i < block.length; i++) {
+                block[i] = -Math.log(random.nextDouble()) / rate;
+            }
+        });
+    }
+
+    /**
+     * Creates a stream of ziggurat exponential values.
+     *
+     * @param random Xoshiro256 for the stream.
+     * @param rate Rate of the exponential distribution.
+     * @return Stream of exponential values.
+     */
+    private static DoubleSupplier exponential(Xoshiro256 random, double rate) {
+        return new BlockStream(block -> {
+            for (int i = 0; i < block.length; i++) {
+                block[i] = random.nextExponential() / rate;
+            }
+        });
+    }
+
+    /**
+     * Creates a stream of values uniform in [0, 1).
+     *
+     * @param random Random for the stream.
+     * @return Stream of uniform values.
+     */
+    private static DoubleSupplier uniform(Random random) {
+        return new BlockStream(block -> {
+            for (int i = 0; i < block.length; i++) {
+                block[i] = random.nextDouble();
+            }
+        });
+    }
+
+    /**
+     * Creates a stream of values uniform in [0, 1).
+     *
+     * @param random Xoshiro256 for the stream.
+     * @return Stream of uniform values.
+     */
+    private static DoubleSupplier uniform(Xoshiro256 random) {
+        return new BlockStream(block -> {
+            for (int i = 0; i < block.length; i++) {
+                block[i] = random.nextDouble();
+            }
+        });
+    }
+
+    /**
+     * Returns the stream of inter-arrival times.
+     *
+     * @return DoubleSupplier of inter-arrival times.
+     */
+    public DoubleSupplier interArrivalTimes() {
+        return this.interArrivalTimes;
+    }
+
+    /**
+     * Returns the stream of service times.
+     *
+     * @return DoubleSupplier of service times.
+     */
+    public DoubleSupplier serviceTimes() {
+        return this.serviceTimes;
+    }
+
+    /**
+     * Returns the stream of values deciding if a Server rests.
+     *
+     * @return DoubleSupplier of values in [0, 1).
+     */
+    public DoubleSupplier randomRests() {
+        return this.randomRests;
+    }
+
+    /**
+     * Returns the stream of rest periods.
+     *
+     * @return DoubleSupplier of rest periods.
+     */
+    public DoubleSupplier restPeriods() {
+        return this.restPeriods;
+    }
+
+    /**
+     * Returns the stream of values deciding if a Customer is greedy.
+     *
+     * @return DoubleSupplier of values in [0, 1).
+     */
+    public DoubleSupplier customerTypes() {
+        return this.customerTypes;
+    }
+
+    /**
+     * Draws the time until the next Customer arrives.
+     *
+     * @return Inter-arrival time.
+     */
+    public double genInterArrivalTime() {
+        return this.interArrivalTimes.getAsDouble();
+    }
+
+    /**
+     * Draws the time taken to serve a Customer.
+     *
+     * @return Service time.
+     */
+    public double genServiceTime() {
+        return this.serviceTimes.getAsDouble();
+    }
+
+    /**
+     * Draws the value deciding if a Server rests.
+     *
+     * @return Value in [0, 1).
+     */
+    public double genRandomRest() {
+        return this.randomRests.getAsDouble();
+    }
+
+    /**
+     * Draws the time a Server rests for.
+     *
+     * @return Rest period.
+     */
+    public double genRestPeriod() {
+        return this.restPeriods.getAsDouble();
+    }
+
+    /**
+     * Draws the value deciding if the next Customer is greedy.
+     *
+     * @return Value in [0, 1).
+     */
+    public double genCustomerType() {
+        return this.customerTypes.getAsDouble();
+    }
+}
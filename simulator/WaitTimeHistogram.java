@@ -0,0 +1,173 @@
+package cs2030.simulator;
+
+/**
+ * WaitTimeHistogram class to count waiting times in a fixed
+ * number of logarithmic buckets, so that quantiles can be read
+ * from any number of values in constant memory.
+ *
+ * <p>Every power of two between 2^MIN_EXPONENT and 2^MAX_EXPONENT
+ * is split into 2^SUB_BUCKET_BITS buckets of equal width, so a
+ * quantile is off by at most half a bucket, a relative error below
+ * 2^-(SUB_BUCKET_BITS + 1). The bucket of a value is read straight
+ * from the exponent and the leading mantissa bits of its double.
+ * Smaller values, including 0, share the first bucket and larger
+ * values share the last one.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class WaitTimeHistogram {
+    public static final int SUB_BUCKET_BITS = 7;
+    public static final int MIN_EXPONENT = -30;
+    public static final int MAX_EXPONENT = 34;
+    private static final int MANTISSA_BITS = 52;
+    private static final long FIRST_KEY = (long) (MIN_EXPONENT + 1023) << SUB_BUCKET_BITS;
+    private static final int BUCKETS = ((MAX_EXPONENT - MIN_EXPONENT) << SUB_BUCKET_BITS) + 2;
+    private static final double MIN_VALUE = Math.scalb(1.0, MIN_EXPONENT);
+    private static final double MAX_VALUE = Math.scalb(1.0, MAX_EXPONENT);
+    private final long[] counts;
+    private long count;
+    private double min;
+    private double max;
+
+    /**
+     * Constructs an empty WaitTimeHistogram.
+     */
+    private WaitTimeHistogram() {
+        this.counts = new long[WaitTimeHistogram.BUCKETS];
+        this.count = 0;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Creates an empty WaitTimeHistogram.
+     *
+     * @return New WaitTimeHistogram.
+     */
+    public static WaitTimeHistogram createHistogram() {
+        return new WaitTimeHistogram();
+    }
+
+    /**
+     * Counts a value.
+     *
+     * @param value Non-negative value to count.
+     */
+    public void add(double value) {
+        this.counts[WaitTimeHistogram.bucketOf(value)]++;
+        this.count++;
+        if (value < this.min) {
+            this.min = value;
+        }
+        if (value > this.max) {
+            this.max = value;
+        }
+    }
+
+    /**
+     * Adds the counts of another WaitTimeHistogram to this one.
+     *
+     * @param other WaitTimeHistogram to add.
+     */
+    public void merge(WaitTimeHistogram other) {
+        for (int i = 0; i < WaitTimeHistogram.BUCKETS; i++) {
+            this.counts[i] += other.counts[i];
+        }
+        this.count += other.count;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Returns the number of values counted.
+     *
+     * @return Number of values counted.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the smallest value counted.
+     *
+     * @return Smallest value, or NaN if no value was counted.
+     */
+    public double getMin() {
+        return this.count == 0 ? Double.NaN : this.min;
+    }
+
+    /**
+     * Returns the largest value counted.
+     *
+     * @return Largest value, or NaN if no value was counted.
+     */
+    public double getMax() {
+        return this.count == 0 ? Double.NaN : this.max;
+    }
+
+    /**
+     * Returns the value below or at which the given fraction of the
+     * counted values lie, as the middle of its bucket and within
+     * the smallest and largest values counted. Values in the first
+     * bucket are reported as the smallest value counted.
+     *
+     * @param fraction Fraction in [0, 1].
+     * @return Quantile of the counted values, or NaN if no value was counted.
+     */
+    public double quantile(double fraction) {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * this.count));
+        long seen = 0;
+        int bucket = 0;
+        while (bucket < WaitTimeHistogram.BUCKETS - 1) {
+            seen += this.counts[bucket];
+            if (seen >= rank) {
+                break;
+            }
+            bucket++;
+        }
+        if (bucket == 0) {
+            return this.min;
+        }
+        double value = (WaitTimeHistogram.lowerBound(bucket) +
+                WaitTimeHistogram.lowerBound(bucket + 1)) / 2;
+        return Math.min(this.max, Math.max(this.min, value));
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value Non-negative value.
+     * @return Index of its bucket.
+     */
+    private static int bucketOf(double value) {
+        if (value < WaitTimeHistogram.MIN_VALUE) {
+            return 0;
+        } else if (value >= WaitTimeHistogram.MAX_VALUE) {
+            return WaitTimeHistogram.BUCKETS - 1;
+        }
+        long key = Double.doubleToRawLongBits(value) >>>
+            (WaitTimeHistogram.MANTISSA_BITS - WaitTimeHistogram.SUB_BUCKET_BITS);
+        return (int) (key - WaitTimeHistogram.FIRST_KEY) + 1;
+    }
+
+    /**
+     * Returns the smallest value in a bucket.
+     *
+     * @param bucket Index of the bucket.
+     * @return Smallest value in the bucket.
+     */
+    private static double lowerBound(int bucket) {
+        if (bucket == 0) {
+            return 0.0;
+        } else if (bucket >= WaitTimeHistogram.BUCKETS - 1) {
+            return WaitTimeHistogram.MAX_VALUE;
+        }
+        long key = bucket - 1 + WaitTimeHistogram.FIRST_KEY;
+        return Double.longBitsToDouble(
+                key << (WaitTimeHistogram.MANTISSA_BITS - WaitTimeHistogram.SUB_BUCKET_BITS));
+    }
+}
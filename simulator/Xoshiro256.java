@@ -0,0 +1,186 @@
+package cs2030.simulator;
+
+/**
+ * Xoshiro256 class for the xoshiro256++ pseudo-random generator
+ * (Blackman and Vigna) with a ziggurat sampler for exponential
+ * values.
+ *
+ * <p>The generator has a period of 2^256 - 1 and a jump function
+ * that advances it by 2^128 values, so a generator can be split
+ * into non-overlapping streams by jumping.
+ *
+ * <p>Exponential values use the 256-layer ziggurat of Marsaglia
+ * and Tsang: one 64-bit value usually gives the result, with a
+ * logarithm needed only in the tail and the rare wedge tests.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class Xoshiro256 {
+    private static final long[] JUMP = {0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL,
+        0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL};
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    private static final int LAYERS = 256;
+    private static final double ZIGGURAT_R = 7.69711747013104972;
+    private static final double ZIGGURAT_V = 0.0039496598225815571993;
+    private static final double[] ZIGGURAT_X = new double[Xoshiro256.LAYERS + 1];
+    private static final double[] ZIGGURAT_F = new double[Xoshiro256.LAYERS + 1];
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    static {
+        double r = Xoshiro256.ZIGGURAT_R;
+        double v = Xoshiro256.ZIGGURAT_V;
+        Xoshiro256.ZIGGURAT_X[0] = v / Math.exp(-r);
+        Xoshiro256.ZIGGURAT_X[1] = r;
+        for (int i = 1; i < Xoshiro256.LAYERS - 1; i++) {
+            double x = Xoshiro256.ZIGGURAT_X[i];
+            Xoshiro256.ZIGGURAT_X[i + 1] = -Math.log(Math.exp(-x) + v / x);
+        }
+        Xoshiro256.ZIGGURAT_X[Xoshiro256.LAYERS] = 0.0;
+        for (int i = 0; i <= Xoshiro256.LAYERS; i++) {
+            Xoshiro256.ZIGGURAT_F[i] = Math.exp(-Xoshiro256.ZIGGURAT_X[i]);
+        }
+    }
+
+    /**
+     * Constructs a Xoshiro256.
+     *
+     * @param s0 First word of the state.
+     * @param s1 Second word of the state.
+     * @param s2 Third word of the state.
+     * @param s3 Fourth word of the state.
+     */
+    private Xoshiro256(long s0, long s1, long s2, long s3) {
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    /**
+     * Creates a Xoshiro256 whose state is expanded from a seed
+     * with SplitMix64, as its authors recommend.
+     *
+     * @param seed The seed.
+     * @return New Xoshiro256 based on the seed.
+     */
+    public static Xoshiro256 createXoshiro256(long seed) {
+        long x = seed;
+        x += 0x9E3779B97F4A7C15L;
+        long s0 = Xoshiro256.mix(x);
+        x += 0x9E3779B97F4A7C15L;
+        long s1 = Xoshiro256.mix(x);
+        x += 0x9E3779B97F4A7C15L;
+        long s2 = Xoshiro256.mix(x);
+        x += 0x9E3779B97F4A7C15L;
+        long s3 = Xoshiro256.mix(x);
+        return new Xoshiro256(s0, s1, s2, s3);
+    }
+
+    /**
+     * Mixes a value with the SplitMix64 finaliser.
+     *
+     * @param value Value to mix.
+     * @return Mixed value.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the next 64-bit value.
+     *
+     * @return Pseudo-random long.
+     */
+    public long nextLong() {
+        long result = Long.rotateLeft(this.s0 + this.s3, 23) + this.s0;
+        long t = this.s1 << 17;
+        this.s2 ^= this.s0;
+        this.s3 ^= this.s1;
+        this.s1 ^= this.s2;
+        this.s0 ^= this.s3;
+        this.s2 ^= t;
+        this.s3 = Long.rotateLeft(this.s3, 45);
+        return result;
+    }
+
+    /**
+     * Returns the next value uniformly distributed in [0, 1).
+     *
+     * @return Pseudo-random double in [0, 1).
+     */
+    public double nextDouble() {
+        return (this.nextLong() >>> 11) * Xoshiro256.DOUBLE_UNIT;
+    }
+
+    /**
+     * Returns the next exponentially distributed value with rate 1.
+     *
+     * @return Pseudo-random exponential value.
+     */
+    public double nextExponential() {
+        double shift = 0.0;
+        while (true) {
+            long bits = this.nextLong();
+            int i = (int) (bits & (Xoshiro256.LAYERS - 1));
+            double x = (bits >>> 11) * Xoshiro256.DOUBLE_UNIT * Xoshiro256.ZIGGURAT_X[i];
+            if (x < Xoshiro256.ZIGGURAT_X[i + 1]) {
+                return shift + x;
+            }
+            if (i == 0) {
+                // Past R the density is again exponential, so sample it
+                // afresh and add R.
+                shift += Xoshiro256.ZIGGURAT_R;
+            } else {
+                double y = Xoshiro256.ZIGGURAT_F[i] + this.nextDouble() *
+                    (Xoshiro256.ZIGGURAT_F[i + 1] - Xoshiro256.ZIGGURAT_F[i]);
+                if (y < Math.exp(-x)) {
+                    return shift + x;
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances this Xoshiro256 by 2^128 values.
+     */
+    public void jump() {
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        for (long word : Xoshiro256.JUMP) {
+            for (int b = 0; b < 64; b++) {
+                if ((word & (1L << b)) != 0) {
+                    t0 ^= this.s0;
+                    t1 ^= this.s1;
+                    t2 ^= this.s2;
+                    t3 ^= this.s3;
+                }
+                this.nextLong();
+            }
+        }
+        this.s0 = t0;
+        this.s1 = t1;
+        this.s2 = t2;
+        this.s3 = t3;
+    }
+
+    /**
+     * Splits off a new Xoshiro256 starting where this one is, and
+     * jumps this one ahead, so the two never overlap.
+     *
+     * @return New Xoshiro256 for the next 2^128 values.
+     */
+    public Xoshiro256 split() {
+        Xoshiro256 other = new Xoshiro256(this.s0, this.s1, this.s2, this.s3);
+        this.jump();
+        return other;
+    }
+}
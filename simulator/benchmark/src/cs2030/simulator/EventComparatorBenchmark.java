@@ -0,0 +1,76 @@
+package cs2030.simulator;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import cs2030.simulator.Customer;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.PackedEventComparator;
+
+/**
+ * EventComparatorBenchmark class to measure a single comparison of
+ * two Events, over a mix of distinct times, tied times with
+ * different states, and tied times and states.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EventComparatorBenchmark {
+    private static final int EVENTS = 1024;
+    private static final int MASK = EventComparatorBenchmark.EVENTS - 1;
+
+    @Param({"object", "packed", "fixed"})
+    public String keys;
+
+    private Comparator<Event> comparator;
+    private Event[] events;
+    private int next;
+
+    /**
+     * Creates the Comparator and the Events to compare.
+     */
+    @Setup
+    public void setUp() {
+        if (this.keys.equals("packed")) {
+            this.comparator = PackedEventComparator.createComparator(false);
+        } else if (this.keys.equals("fixed")) {
+            this.comparator = PackedEventComparator.createComparator(true);
+        } else {
+            this.comparator = new EventComparator();
+        }
+        Random random = new Random(2030);
+        this.events = new Event[EventComparatorBenchmark.EVENTS];
+        for (int i = 0; i < EventComparatorBenchmark.EVENTS; i++) {
+            double time = random.nextInt(4) == 0 ? 1.0 : random.nextDouble() * 100.0;
+            Event event = Event.createEvent(Customer.createCustomer(i + 1, time), time);
+            if (random.nextBoolean()) {
+                event.setServed(random.nextInt(5), false);
+            }
+            this.events[i] = event;
+        }
+    }
+
+    /**
+     * Compares the next pair of Events.
+     *
+     * @return Result of the comparison.
+     */
+    @Benchmark
+    public int compare() {
+        int i = this.next++;
+        return this.comparator.compare(this.events[i & EventComparatorBenchmark.MASK],
+                this.events[(i * 31 + 7) & EventComparatorBenchmark.MASK]);
+    }
+}
@@ -0,0 +1,82 @@
+package cs2030.simulator;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import cs2030.simulator.Customer;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventPool;
+import cs2030.simulator.Server;
+
+/**
+ * EventTransitionBenchmark class to measure the life of a served
+ * Customer's Event, from ARRIVES through SERVED to DONE, with new
+ * Events per state, with one Event changed in place, and with
+ * Events taken from and returned to an EventPool.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EventTransitionBenchmark {
+    private Server server;
+    private Event event;
+    private EventPool pool;
+    private int id;
+    private double time;
+
+    /**
+     * Creates the Server, Event and EventPool used by the transitions.
+     */
+    @Setup
+    public void setUp() {
+        this.server = Server.createServer(1);
+        this.event = Event.createEvent(Customer.createCustomer(1, 0.0), 0.0);
+        this.pool = EventPool.createEventPool();
+    }
+
+    /**
+     * Moves a new Customer from ARRIVES to DONE with a new Event
+     * per state.
+     *
+     * @return The DONE Event.
+     */
+    @Benchmark
+    public Event immutable() {
+        double now = this.time++;
+        return Event.createEvent(Customer.createCustomer(++this.id, now), now)
+            .serve(this.server).done();
+    }
+
+    /**
+     * Moves a new Customer from ARRIVES to DONE in one Event.
+     *
+     * @return The DONE Event.
+     */
+    @Benchmark
+    public Event inPlace() {
+        double now = this.time++;
+        return this.event.reset(++this.id, now, false, now).setServed(0, false).setDone(1.0);
+    }
+
+    /**
+     * Moves a new Customer from ARRIVES to DONE in an Event taken
+     * from the EventPool, and returns it to the EventPool.
+     *
+     * @return The DONE Event.
+     */
+    @Benchmark
+    public Event pooled() {
+        double now = this.time++;
+        Event done = this.pool.obtain(++this.id, false, now).setServed(0, false).setDone(1.0);
+        this.pool.release(done);
+        return done;
+    }
+}
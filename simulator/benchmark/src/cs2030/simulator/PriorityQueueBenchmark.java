@@ -0,0 +1,124 @@
+package cs2030.simulator;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import cs2030.simulator.Customer;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+
+/**
+ * PriorityQueueBenchmark class to measure a PriorityQueue of Events
+ * ranked by EventComparator under the mixes of offers and polls
+ * the simulation produces.
+ *
+ * <p>"hold" polls the earliest Event and offers it back later, as
+ * a served Customer becomes done. "holdInPlace" does the same by
+ * moving the Event in place. "burst" offers a batch of Events and
+ * then polls as many, as queues empty after a busy spell.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PriorityQueueBenchmark {
+    private static final int GAPS = 4096;
+    private static final int BURST = 16;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private PriorityQueue<Event> queue;
+    private Event[] spare;
+    private double[] gaps;
+    private int next;
+
+    /**
+     * Fills the PriorityQueue with Events at exponential times.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(this.size);
+        this.queue = new PriorityQueue<>(new EventComparator());
+        for (int i = 1; i <= this.size; i++) {
+            double time = -Math.log(1.0 - random.nextDouble());
+            this.queue.offer(Event.createEvent(Customer.createCustomer(i, time), time));
+        }
+        this.spare = new Event[PriorityQueueBenchmark.BURST];
+        for (int i = 0; i < PriorityQueueBenchmark.BURST; i++) {
+            this.spare[i] = Event.createEvent(Customer.createCustomer(this.size + i + 1, 0.0),
+                    0.0);
+        }
+        this.gaps = new double[PriorityQueueBenchmark.GAPS];
+        for (int i = 0; i < PriorityQueueBenchmark.GAPS; i++) {
+            this.gaps[i] = -Math.log(1.0 - random.nextDouble());
+        }
+    }
+
+    /**
+     * Returns the next exponential gap.
+     *
+     * @return Exponential gap.
+     */
+    private double nextGap() {
+        return this.gaps[this.next++ & (PriorityQueueBenchmark.GAPS - 1)];
+    }
+
+    /**
+     * Polls the earliest Event and offers a later copy of it.
+     *
+     * @return The polled Event.
+     */
+    @Benchmark
+    public Event hold() {
+        Event event = this.queue.poll();
+        this.queue.offer(event.addTime(this.nextGap()));
+        return event;
+    }
+
+    /**
+     * Polls the earliest Event and offers it back later, moved
+     * in place.
+     *
+     * @return The polled Event.
+     */
+    @Benchmark
+    public Event holdInPlace() {
+        Event event = this.queue.poll();
+        this.queue.offer(event.setDone(this.nextGap()));
+        return event;
+    }
+
+    /**
+     * Offers a batch of Events just after the earliest Event and
+     * polls as many back.
+     *
+     * @return The last polled Event.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2 * PriorityQueueBenchmark.BURST)
+    public Event burst() {
+        double now = this.queue.peek().getTime();
+        for (Event event : this.spare) {
+            this.queue.offer(event.reset(event.getCustomerId(), now, false,
+                    now + this.nextGap() * 1e-3));
+        }
+        Event last = null;
+        for (int i = 0; i < PriorityQueueBenchmark.BURST; i++) {
+            last = this.queue.poll();
+            this.spare[i] = last;
+        }
+        return last;
+    }
+}
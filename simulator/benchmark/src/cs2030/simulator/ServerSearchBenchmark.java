@@ -0,0 +1,105 @@
+package cs2030.simulator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import cs2030.simulator.RunContext;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Server;
+import cs2030.simulator.ServerArrayTable;
+import cs2030.simulator.ServerListTable;
+import cs2030.simulator.ServerTable;
+import cs2030.simulator.Shop;
+
+/**
+ * ServerSearchBenchmark class to measure how an arriving Customer
+ * finds a Server. Every Server is busy with a queue of 0 to 3
+ * waiting Customers, and optionally the last Server is idle, which
+ * is the worst case for a scan in List order.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ServerSearchBenchmark {
+    private static final int QMAX = 4;
+
+    @Param({"5", "500", "50000"})
+    public int serverNum;
+
+    @Param({"list", "array"})
+    public String servers;
+
+    @Param({"none", "last"})
+    public String idle;
+
+    @Param({"0", "2"})
+    public int greedySample;
+
+    private Shop shop;
+
+    /**
+     * Creates a Shop whose Servers are in the benchmarked state.
+     */
+    @Setup
+    public void setUp() {
+        ServerTable table;
+        if (this.servers.equals("array")) {
+            table = ServerArrayTable.createServerTable(this.serverNum, 0,
+                    ServerSearchBenchmark.QMAX);
+        } else {
+            List<Server> serverList = new ArrayList<>();
+            for (int i = 0; i < this.serverNum; i++) {
+                serverList.add(Server.createServer(i + 1));
+            }
+            table = ServerListTable.createServerTable(serverList);
+        }
+        int busy = this.idle.equals("last") ? this.serverNum - 1 : this.serverNum;
+        int id = 1;
+        for (int i = 0; i < busy; i++) {
+            table.setBusy(i);
+            for (int k = 0; k < (i * 7 + 3) % ServerSearchBenchmark.QMAX; k++) {
+                table.addCustomer(i, id++, 0.0, false);
+            }
+        }
+        RunOptions options = RunOptions.createRunOptions()
+            .withServerEngine(this.servers.equals("array") ? ServerTable.ARRAY : ServerTable.LIST)
+            .withGreedySampleSize(this.greedySample);
+        RunContext context = RunContext.createRunContext(1, 1.0, 1.0, 1.0,
+                new PrintStream(OutputStream.nullOutputStream()));
+        this.shop = Shop.createShop(table, 0.0, options, context);
+        this.shop.indexServers(ServerSearchBenchmark.QMAX);
+    }
+
+    /**
+     * Finds the first idle Server, as a typical Customer does.
+     *
+     * @return List index of the idle Server, or -1.
+     */
+    @Benchmark
+    public int findIdleServer() {
+        return this.shop.findIdleServer();
+    }
+
+    /**
+     * Finds the Server a greedy Customer picks.
+     *
+     * @return List index of the picked Server, or -1.
+     */
+    @Benchmark
+    public int greedyServerSearch() {
+        return this.shop.greedyServerSearch(ServerSearchBenchmark.QMAX);
+    }
+}
@@ -0,0 +1,140 @@
+package cs2030.simulator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import cs2030.simulator.EventQueue;
+import cs2030.simulator.RunOptions;
+import cs2030.simulator.Scenario;
+import cs2030.simulator.ServerTable;
+import cs2030.simulator.Statistics;
+
+/**
+ * ShopSimulateBenchmark class to measure end-to-end simulation
+ * throughput. The output is counted rather than printed, and the
+ * "events" counter reports the printed Events per second.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ShopSimulateBenchmark {
+    @Param({"1 5 5 2 10000 3.0 1.0 0.5 0.2 0.3", "1 500 0 2 100000 400.0 1.0 0.5 0.1 0.5"})
+    public String input;
+
+    @Param({"binary", "calendar"})
+    public String queue;
+
+    @Param({"list", "array"})
+    public String servers;
+
+    private Scenario scenario;
+    private RunOptions options;
+    private LineCountingStream lines;
+    private PrintStream out;
+
+    /**
+     * Inner class to count the lines written to it and discard
+     * everything else.
+     */
+    private static class LineCountingStream extends OutputStream {
+        private long count;
+
+        /**
+         * Counts a byte if it ends a line.
+         *
+         * @param b The byte written.
+         */
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                this.count++;
+            }
+        }
+
+        /**
+         * Counts the line endings in a range of bytes.
+         *
+         * @param b The bytes written.
+         * @param off Offset of the first byte.
+         * @param len Number of bytes.
+         */
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    this.count++;
+                }
+            }
+        }
+
+        /**
+         * Returns the number of lines counted, and starts again from 0.
+         *
+         * @return Number of lines since the last call.
+         */
+        long takeCount() {
+            long lineCount = this.count;
+            this.count = 0;
+            return lineCount;
+        }
+    }
+
+    /**
+     * EventCounter class to report the number of simulated Events
+     * alongside the number of simulations.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class EventCounter {
+        public long events;
+
+        /**
+         * Clears the counter before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void clear() {
+            this.events = 0;
+        }
+    }
+
+    /**
+     * Parses the input and RunOptions of the benchmark.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.scenario = Scenario.readScenario(new Scanner(this.input));
+        this.options = RunOptions.createRunOptions()
+            .withEventQueueType(EventQueue.parseType(this.queue))
+            .withServerEngine(this.servers.equals("array") ? ServerTable.ARRAY : ServerTable.LIST);
+        this.lines = new LineCountingStream();
+        this.out = new PrintStream(this.lines);
+    }
+
+    /**
+     * Simulates the Scenario once.
+     *
+     * @param counter EventCounter to add the simulated Events to.
+     * @return Statistics of the simulation.
+     */
+    @Benchmark
+    public Statistics simulate(EventCounter counter) {
+        Statistics statistics = this.scenario.run(this.options, this.out);
+        this.out.flush();
+        counter.events += this.lines.takeCount() - 1;
+        return statistics;
+    }
+}
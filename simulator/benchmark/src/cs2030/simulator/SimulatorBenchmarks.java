@@ -0,0 +1,44 @@
+package cs2030.simulator;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * SimulatorBenchmarks class to run every simulator benchmark with
+ * the GC profiler, which adds the allocation rate (gc.alloc.rate
+ * and gc.alloc.rate.norm, in bytes per operation) to each result.
+ *
+ * <p>Usage: {@code java cs2030.simulator.SimulatorBenchmarks [jmh options]},
+ * for example {@code -f 1 -wi 3 -i 5 -p serverNum=50000}.
+ *
+ * @author Bikramjit Dasgupta
+ * @version 3.4
+ */
+public class SimulatorBenchmarks {
+    private static final Class<?>[] BENCHMARKS = {ShopSimulateBenchmark.class,
+        EventComparatorBenchmark.class, PriorityQueueBenchmark.class,
+        ServerSearchBenchmark.class, EventTransitionBenchmark.class};
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options.
+     * @throws RunnerException If a benchmark fails.
+     * @throws CommandLineOptionException If the options cannot be parsed.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(new CommandLineOptions(args));
+        for (Class<?> benchmark : SimulatorBenchmarks.BENCHMARKS) {
+            builder.include(benchmark.getName() + "\\.");
+        }
+        builder.addProfiler(GCProfiler.class);
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}